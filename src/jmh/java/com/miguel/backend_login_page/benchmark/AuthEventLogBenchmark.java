@@ -0,0 +1,64 @@
+package com.miguel.backend_login_page.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import com.miguel.backend_login_page.infra.audit.AuthEventLog;
+import com.miguel.backend_login_page.infra.audit.AuthEventType;
+
+/**
+ * Appends to the memory-mapped auth event log in {@code target/}, rolling 64 MB segments.
+ * Retention runs between iterations and keeps the directory under 1 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class AuthEventLogBenchmark {
+
+    private Path directory;
+    private AuthEventLog eventLog;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory(Path.of("target"), "auth-events-bench");
+        eventLog = new AuthEventLog(directory, 64L << 20, Duration.ofHours(1), Duration.ofDays(1), 1L << 30);
+    }
+
+    @TearDown(Level.Iteration)
+    public void applyRetention() {
+        eventLog.maintain();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        eventLog.destroy();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void appendLoginFailure() {
+        eventLog.append(AuthEventType.LOGIN_BAD_PASSWORD, "john.doe@example.com", "203.0.113.42");
+    }
+}
@@ -0,0 +1,69 @@
+package com.miguel.backend_login_page.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.security.TokenRevocationStore;
+import com.miguel.backend_login_page.repository.RevokedTokenRepository;
+import com.miguel.backend_login_page.repository.UserRepository;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId("00000000-0000-0000-0000-000000000001");
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z8Wb0DJ8N2DsHfQvS7/9ZzXu");
+        return user;
+    }
+
+    /**
+     * In-memory {@link UserRepository} that only answers {@code findByEmail}.
+     */
+    static UserRepository repositoryWith(User user) {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[] { UserRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) {
+                        return user.getEmail().equals(args[0]) ? Optional.of(user) : Optional.empty();
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            default -> "StubUserRepository";
+                        };
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Empty {@link TokenRevocationStore} over a repository stub that persists nothing.
+     */
+    static TokenRevocationStore revocationStore() {
+        RevokedTokenRepository repository = (RevokedTokenRepository) Proxy.newProxyInstance(
+                RevokedTokenRepository.class.getClassLoader(),
+                new Class<?>[] { RevokedTokenRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByExpiresAtAfter" -> List.of();
+                    case "save" -> args[0];
+                    case "deleteExpired" -> 0;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubRevokedTokenRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        TokenRevocationStore store = new TokenRevocationStore(repository, Duration.ofMinutes(1), 1024);
+        store.afterPropertiesSet();
+        return store;
+    }
+}
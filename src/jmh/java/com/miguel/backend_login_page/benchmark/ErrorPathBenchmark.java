@@ -0,0 +1,93 @@
+package com.miguel.backend_login_page.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miguel.backend_login_page.dto.ErrorResponseDTO;
+import com.miguel.backend_login_page.infra.exception.ErrorResponseWriter;
+import com.miguel.backend_login_page.infra.exception.InvalidCredentialsException;
+
+/**
+ * Cost of one failed login after the password check: throw, unwind to the handler, write
+ * the error body. {@code stackTraceAndJackson} is the previous path (an exception with a
+ * stack trace, a new {@code ErrorResponseDTO} with {@code LocalDateTime.now()}, Jackson);
+ * {@code stacklessAndTemplate} is the current one. {@code depth} is how many frames sit
+ * between the throw and the handler; a request inside Tomcat and Spring is well over 100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"20", "150"})
+    public int depth;
+
+    private ObjectMapper objectMapper;
+    private ErrorResponseWriter writer;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = new ErrorResponseWriter();
+    }
+
+    @Benchmark
+    public int stackTraceAndJackson() throws IOException {
+        out.reset();
+        try {
+            throwAt(depth, true);
+        } catch (RuntimeException exception) {
+            objectMapper.writeValue(out, new ErrorResponseDTO(exception.getMessage(), "INVALID_CREDENTIALS",
+                    HttpStatus.UNAUTHORIZED.value(), LocalDateTime.now()));
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public int stacklessAndTemplate() throws IOException {
+        out.reset();
+        try {
+            throwAt(depth, false);
+        } catch (RuntimeException exception) {
+            writer.writeBody(out, HttpStatus.UNAUTHORIZED, "INVALID_CREDENTIALS", exception.getMessage());
+        }
+        return out.size();
+    }
+
+    private static int throwAt(int frames, boolean withStackTrace) {
+        if (frames > 0) {
+            return throwAt(frames - 1, withStackTrace) + 1;
+        }
+        throw withStackTrace
+                ? new StackTraceException("Invalid email or password")
+                : new InvalidCredentialsException("Invalid email or password");
+    }
+
+    /** What the domain exceptions were before: a plain RuntimeException. */
+    private static final class StackTraceException extends RuntimeException {
+        StackTraceException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.miguel.backend_login_page.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.miguel.backend_login_page.domain.audit.LoginAudit.Outcome;
+import com.miguel.backend_login_page.infra.audit.LoginAuditor;
+
+/**
+ * Cost the audit adds to a login: one {@link LoginAuditor#record} per request, with the
+ * writer draining into a sink that discards. Compare {@code enabled=false} for the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class LoginAuditBenchmark {
+
+    @Param({"true", "false"})
+    public boolean enabled;
+
+    private LoginAuditor auditor;
+
+    @Setup
+    public void setUp() {
+        auditor = new LoginAuditor(events -> { }, enabled, 65_536, 500, Duration.ofSeconds(1), Duration.ofSeconds(5));
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        auditor.destroy();
+    }
+
+    @Benchmark
+    public void record() {
+        auditor.record("john@example.com", "42", Outcome.SUCCESS, "10.0.0.1");
+    }
+}
@@ -0,0 +1,51 @@
+package com.miguel.backend_login_page.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.miguel.backend_login_page.infra.security.RateLimiter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    /** 1 = every thread hits the same bucket; larger values spread decisions over many keys. */
+    @Param({"1", "10000"})
+    public int keys;
+
+    private RateLimiter limiter;
+    private String[] keyNames;
+
+    @Setup
+    public void setUp() {
+        limiter = new RateLimiter(30, Duration.ofMinutes(1), 100_000);
+        keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = "10.0." + (i >>> 8) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return limiter.tryAcquire(keyNames[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+}
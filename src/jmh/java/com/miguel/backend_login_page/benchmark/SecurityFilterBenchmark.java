@@ -0,0 +1,87 @@
+package com.miguel.backend_login_page.benchmark;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.audit.AuthEventLog;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
+import com.miguel.backend_login_page.infra.security.PrincipalCache;
+import com.miguel.backend_login_page.infra.security.SecurityFilter;
+import com.miguel.backend_login_page.infra.security.TokenService;
+import com.miguel.backend_login_page.infra.security.UserRoles;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Runs {@code SecurityFilter} end to end with a stubbed repository, so the numbers
+ * reflect token parsing, verification and principal resolution only. With
+ * {@code stateless} the repository stub is never called.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean caches;
+
+    /** Principal from token claims only, with no repository lookup. */
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private SecurityFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkFixtures.user();
+        TokenService tokenService = new TokenService(AuthMetrics.noop(), "benchmark-secret", Duration.ofMinutes(15), Duration.ofDays(7), caches, 10_000, Duration.ofSeconds(60));
+
+        filter = new SecurityFilter();
+        ReflectionTestUtils.setField(filter, "tokenService", tokenService);
+        ReflectionTestUtils.setField(filter, "userRepository", BenchmarkFixtures.repositoryWith(user));
+        ReflectionTestUtils.setField(filter, "metrics", AuthMetrics.noop());
+        ReflectionTestUtils.setField(filter, "revocations", BenchmarkFixtures.revocationStore());
+        ReflectionTestUtils.setField(filter, "roles", new UserRoles());
+        ReflectionTestUtils.setField(filter, "eventLog", AuthEventLog.disabled());
+        ReflectionTestUtils.setField(filter, "stateless", stateless);
+        ReflectionTestUtils.setField(filter, "principalCache", new PrincipalCache(caches, 10_000, Duration.ofMinutes(5)));
+
+        request = new MockHttpServletRequest("GET", "/user");
+        request.addHeader("Authorization", "Bearer " + tokenService.generateToken(user));
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        filter.doFilter(request, response, chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,118 @@
+package com.miguel.backend_login_page.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
+import com.miguel.backend_login_page.infra.security.SigningKeyRing;
+import com.miguel.backend_login_page.infra.security.TokenService;
+import com.miguel.backend_login_page.infra.security.UserRoles;
+import com.miguel.backend_login_page.infra.security.VerifiedToken;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    @Param({"HS256", "ES256"})
+    public String algorithm;
+
+    @Param({"false", "true"})
+    public boolean verifiedCache;
+
+    /**
+     * false = the auth0 decoder and verifier; true = {@code CompactTokenVerifier}. Run with
+     * {@code -prof gc} and compare {@code gc.alloc.rate.norm} for bytes allocated per call.
+     */
+    @Param({"false", "true"})
+    public boolean fastPath;
+
+    private TokenService tokenService;
+    private User user;
+    private String validToken;
+    private String validHeader;
+    private String expiredToken;
+    private String badSignatureToken;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user();
+        Algorithm signing;
+        Algorithm forged;
+        String kid = null;
+        if (SigningKeyRing.ES256.equals(algorithm)) {
+            SigningKeyRing ring = SigningKeyRing.inMemory(Duration.ofDays(30), Duration.ofDays(7));
+            SigningKeyRing.Key key = ring.snapshot().signingKey();
+            SigningKeyRing.Key otherKey = SigningKeyRing.inMemory(Duration.ofDays(30), Duration.ofDays(7)).snapshot().signingKey();
+            tokenService = new TokenService(AuthMetrics.noop(), ring, new UserRoles(), SECRET, Duration.ofMinutes(15), Duration.ofDays(7), fastPath, verifiedCache, 10_000, Duration.ofSeconds(60));
+            signing = Algorithm.ECDSA256(key.publicKey(), key.privateKey());
+            forged = Algorithm.ECDSA256(otherKey.publicKey(), otherKey.privateKey());
+            kid = key.kid();
+        } else {
+            tokenService = new TokenService(AuthMetrics.noop(), null, new UserRoles(), SECRET, Duration.ofMinutes(15), Duration.ofDays(7), fastPath, verifiedCache, 10_000, Duration.ofSeconds(60));
+            signing = Algorithm.HMAC256(SECRET);
+            forged = Algorithm.HMAC256("some-other-secret");
+        }
+        validToken = tokenService.generateToken(user);
+        validHeader = "Bearer " + validToken;
+        expiredToken = JWT.create()
+                .withKeyId(kid)
+                .withIssuer("login-athu-api")
+                .withSubject(user.getEmail())
+                .withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(signing);
+        badSignatureToken = JWT.create()
+                .withKeyId(kid)
+                .withIssuer("login-athu-api")
+                .withSubject(user.getEmail())
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(forged);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateValidToken() {
+        return tokenService.valideteToken(validToken);
+    }
+
+    /** What {@code SecurityFilter} calls for every authenticated request. */
+    @Benchmark
+    public VerifiedToken verifyBearerHeader() {
+        return tokenService.verifyBearer(validHeader);
+    }
+
+    @Benchmark
+    public String validateExpiredToken() {
+        return tokenService.valideteToken(expiredToken);
+    }
+
+    @Benchmark
+    public String validateBadSignatureToken() {
+        return tokenService.valideteToken(badSignatureToken);
+    }
+}
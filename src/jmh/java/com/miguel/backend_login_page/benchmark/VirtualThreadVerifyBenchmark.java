@@ -0,0 +1,93 @@
+package com.miguel.backend_login_page.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
+import com.miguel.backend_login_page.infra.security.SigningKeyRing;
+import com.miguel.backend_login_page.infra.security.TokenService;
+import com.miguel.backend_login_page.infra.security.UserRoles;
+import com.miguel.backend_login_page.infra.security.VerifiedToken;
+
+/**
+ * {@code verifyBearer} the way the servlet container calls it: each request on its own virtual
+ * thread with {@code spring.threads.virtual.enabled=true}, or on a reused pool thread without.
+ * Caches are off so every call reaches {@code CompactTokenVerifier}. Read
+ * {@code gc.alloc.rate.norm}: anything the verifier keeps per thread is allocated again for
+ * every virtual thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadVerifyBenchmark {
+
+    private static final int REQUESTS = 64;
+    private static final String SECRET = "benchmark-secret";
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"HS256", "ES256"})
+    public String algorithm;
+
+    private ExecutorService executor;
+    private TokenService tokenService;
+    private String validHeader;
+
+    @Setup
+    public void setUp() {
+        SigningKeyRing ring = SigningKeyRing.ES256.equals(algorithm)
+                ? SigningKeyRing.inMemory(Duration.ofDays(30), Duration.ofDays(7))
+                : null;
+        tokenService = new TokenService(AuthMetrics.noop(), ring, new UserRoles(), SECRET,
+                Duration.ofMinutes(15), Duration.ofDays(7), true, false, 0, Duration.ofSeconds(60));
+        validHeader = "Bearer " + tokenService.generateToken(BenchmarkFixtures.user());
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /** {@value #REQUESTS} concurrent requests, each verifying one bearer header. */
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int verifyBearerHeader() throws Exception {
+        List<Future<VerifiedToken>> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(executor.submit(() -> tokenService.verifyBearer(validHeader)));
+        }
+        int verified = 0;
+        for (Future<VerifiedToken> request : requests) {
+            if (request.get() != null) {
+                verified++;
+            }
+        }
+        return verified;
+    }
+}
@@ -0,0 +1,80 @@
+package com.miguel.backend_login_page.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency and outcome counts for one {@link Scenario}. Completions record from the HTTP
+ * client's threads into a {@link Recorder}; {@link #interval()} swaps it out and folds it into
+ * the run total, from one reporting thread at a time.
+ */
+final class EndpointStats {
+
+    /** Outcome of a request that never got a status code. */
+    static final String TIMEOUT = "timeout";
+    static final String ERROR = "error";
+    /** Not sent because {@code --max-in-flight} requests were already outstanding. */
+    static final String SATURATED = "saturated";
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(5);
+
+    private final Scenario scenario;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE, 3);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE, 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder unexpected = new LongAdder();
+    private Histogram recycled;
+
+    EndpointStats(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    Scenario scenario() {
+        return scenario;
+    }
+
+    /** @param outcome the status code, {@link #TIMEOUT} or {@link #ERROR} */
+    void record(long latencyNanos, String outcome, boolean expected) {
+        recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE));
+        count(outcome);
+        if (!expected) {
+            unexpected.increment();
+        }
+    }
+
+    void saturated() {
+        count(SATURATED);
+        unexpected.increment();
+    }
+
+    /** Latencies recorded since the previous call, also added to {@link #total()}. */
+    synchronized Histogram interval() {
+        recycled = recorder.getIntervalHistogram(recycled);
+        total.add(recycled);
+        return recycled;
+    }
+
+    synchronized Histogram total() {
+        return total;
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> sorted = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> sorted.put(outcome, count.sum()));
+        return sorted;
+    }
+
+    long unexpected() {
+        return unexpected.sum();
+    }
+
+    private void count(String outcome) {
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+}
@@ -0,0 +1,215 @@
+package com.miguel.backend_login_page.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Users and tokens the scenarios draw from.
+ * <p>
+ * Seed users are {@code user-<n>@loadtest.example}, all with {@link #PASSWORD}. They are
+ * created through {@code POST /admin/users/import} with a precomputed BCrypt hash, so seeding
+ * thousands of them costs one hash instead of one per user, and re-running against the same
+ * server reuses them (the duplicates are reported and skipped by the import). That needs an
+ * admin: {@link #ADMIN_EMAIL} is registered or logged in first and must hold the admin bit in
+ * {@code users.roles}, which the {@code h2} profile provisions. A server
+ * without the import endpoint, such as the reactive variant, gets its seed users through
+ * {@code POST /auth/register} one at a time instead, hashed at the server's own cost.
+ */
+final class Fixture {
+
+    static final String PASSWORD = "loadtest-password";
+    static final String ADMIN_EMAIL = "loadtest-admin@loadtest.example";
+
+    private static final String ISSUER = "login-athu-api";
+    private static final int FORGED_TOKENS = 64;
+    private static final Duration SEED_TIMEOUT = Duration.ofMinutes(2);
+
+    private final String baseUrl;
+    private final String runId;
+    private final String[] emails;
+    private final String[] tokens;
+    private final String[] forgedTokens;
+    private final String adminToken;
+    private final String introspectionBody;
+
+    private Fixture(String baseUrl, String runId, String[] emails, String[] tokens, String[] forgedTokens,
+            String adminToken, String introspectionBody) {
+        this.baseUrl = baseUrl;
+        this.runId = runId;
+        this.emails = emails;
+        this.tokens = tokens;
+        this.forgedTokens = forgedTokens;
+        this.adminToken = adminToken;
+        this.introspectionBody = introspectionBody;
+    }
+
+    /**
+     * @param users  how many seed users to make sure exist
+     * @param tokens how many of them to log in for {@link Scenario#USER}
+     * @param runId  makes the emails of {@link Scenario#REGISTER} unique to this run
+     * @param cost   BCrypt cost of the seed users' hash; logins verify at this cost
+     * @param batch  tokens per {@link Scenario#INTROSPECT} request, three valid to one forged
+     */
+    static Fixture seed(HttpClient client, ObjectMapper objectMapper, String baseUrl, int users, int tokens, String runId,
+            int cost, int batch) throws IOException, InterruptedException {
+        String[] emails = new String[users];
+        for (int i = 0; i < users; i++) {
+            emails[i] = "user-" + i + "@loadtest.example";
+        }
+
+        String adminToken = adminToken(client, objectMapper, baseUrl);
+        if (!importUsers(client, baseUrl, adminToken, emails, cost)) {
+            registerUsers(client, objectMapper, baseUrl, emails);
+        }
+
+        String[] accessTokens = new String[Math.min(tokens, users)];
+        for (int i = 0; i < accessTokens.length; i++) {
+            HttpResponse<String> login = send(client, json(baseUrl, "/auth/login",
+                    objectMapper.writeValueAsString(new Credentials(null, emails[i], PASSWORD))));
+            expect(login, 200, "log in " + emails[i]);
+            accessTokens[i] = objectMapper.readTree(login.body()).get("token").asText();
+        }
+
+        String[] forged = forgedTokens(emails);
+        List<String> batchTokens = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) {
+            batchTokens.add(i % 4 == 3 ? forged[i % forged.length] : accessTokens[i % accessTokens.length]);
+        }
+        String introspectionBody = objectMapper.writeValueAsString(Map.of("tokens", batchTokens));
+        return new Fixture(baseUrl, runId, emails, accessTokens, forged, adminToken, introspectionBody);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    String email(long sequence) {
+        return emails[(int) (sequence % emails.length)];
+    }
+
+    String token(long sequence) {
+        return tokens[(int) (sequence % tokens.length)];
+    }
+
+    String forgedToken(long sequence) {
+        return forgedTokens[(int) (sequence % forgedTokens.length)];
+    }
+
+    /** The seeding admin's token; admins may call {@code /auth/introspect}. */
+    String adminToken() {
+        return adminToken;
+    }
+
+    String introspectionBody() {
+        return introspectionBody;
+    }
+
+    String newEmail(long sequence) {
+        return "reg-" + runId + "-" + sequence + "@loadtest.example";
+    }
+
+    private static String adminToken(HttpClient client, ObjectMapper objectMapper, String baseUrl)
+            throws IOException, InterruptedException {
+        HttpResponse<String> register = send(client, json(baseUrl, "/auth/register",
+                objectMapper.writeValueAsString(new Credentials("Load Test Admin", ADMIN_EMAIL, PASSWORD))));
+        HttpResponse<String> response = register.statusCode() == 409
+                ? send(client, json(baseUrl, "/auth/login",
+                        objectMapper.writeValueAsString(new Credentials(null, ADMIN_EMAIL, PASSWORD))))
+                : register;
+        expect(response, 200, "register or log in " + ADMIN_EMAIL);
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    /** @return false when the server has no import endpoint */
+    private static boolean importUsers(HttpClient client, String baseUrl, String adminToken, String[] emails, int cost)
+            throws IOException, InterruptedException {
+        String hash = new BCryptPasswordEncoder(cost).encode(PASSWORD);
+        List<String> lines = new ArrayList<>(emails.length);
+        for (String email : emails) {
+            lines.add("{\"name\":\"Load Test\",\"email\":\"" + email + "\",\"passwordHash\":\"" + hash + "\"}\n");
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/admin/users/import"))
+                .timeout(SEED_TIMEOUT)
+                .header("Content-Type", "application/x-ndjson")
+                .header("Authorization", "Bearer " + adminToken)
+                .POST(HttpRequest.BodyPublishers.ofString(String.join("", lines)))
+                .build();
+        HttpResponse<String> response = send(client, request);
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        if (response.statusCode() == 403) {
+            throw new IllegalStateException(ADMIN_EMAIL + " is not an admin on " + baseUrl
+                    + "; set users.roles = 1 for it or run the server with the h2 profile");
+        }
+        expect(response, 200, "import seed users");
+        String body = response.body().strip();
+        System.out.println("Seed import: " + body.substring(body.lastIndexOf('\n') + 1));
+        return true;
+    }
+
+    private static void registerUsers(HttpClient client, ObjectMapper objectMapper, String baseUrl, String[] emails)
+            throws IOException, InterruptedException {
+        int created = 0;
+        for (String email : emails) {
+            HttpResponse<String> register = send(client, json(baseUrl, "/auth/register",
+                    objectMapper.writeValueAsString(new Credentials("Load Test", email, PASSWORD))));
+            if (register.statusCode() != 409) {
+                expect(register, 200, "register " + email);
+                created++;
+            }
+        }
+        System.out.println("Seed registration: " + created + " created, " + (emails.length - created) + " already present");
+    }
+
+    /** HS256 tokens with the right issuer and real subjects, signed with a key the server does not have. */
+    private static String[] forgedTokens(String[] emails) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        Algorithm algorithm = Algorithm.HMAC256(secret);
+        String[] forged = new String[FORGED_TOKENS];
+        for (int i = 0; i < forged.length; i++) {
+            forged[i] = JWT.create()
+                    .withIssuer(ISSUER)
+                    .withSubject(emails[i % emails.length])
+                    .withExpiresAt(Instant.now().plus(Duration.ofHours(1)))
+                    .sign(algorithm);
+        }
+        return forged;
+    }
+
+    private static HttpRequest json(String baseUrl, String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(SEED_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void expect(HttpResponse<String> response, int status, String action) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException("Could not " + action + ": HTTP " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private record Credentials(String name, String email, String password) { }
+}
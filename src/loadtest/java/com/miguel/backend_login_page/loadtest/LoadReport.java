@@ -0,0 +1,133 @@
+package com.miguel.backend_login_page.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes the result of a run and compares it with an earlier one.
+ * <p>
+ * A run directory holds {@code summary.json} (settings, then per endpoint the outcome counts,
+ * throughput and latency percentiles in milliseconds) and one {@code <endpoint>.hgrm} per
+ * endpoint with the full percentile distribution, in the format HdrHistogram's plotter reads.
+ */
+final class LoadReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String[] PERCENTILES = { "p50", "p90", "p99", "p999" };
+    private static final double[] PERCENTILE_VALUES = { 50.0, 90.0, 99.0, 99.9 };
+
+    private final ObjectMapper objectMapper;
+
+    LoadReport(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /** @return the summary that was written */
+    Map<String, Object> write(Path directory, Map<String, Object> settings, List<EndpointStats> endpoints,
+            double measuredSeconds) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Object> summary = new LinkedHashMap<>(settings);
+        Map<String, Object> results = new LinkedHashMap<>();
+        long completed = 0;
+        for (EndpointStats stats : endpoints) {
+            Histogram histogram = stats.total();
+            completed += histogram.getTotalCount();
+            results.put(stats.scenario().id(), endpoint(stats, histogram, measuredSeconds));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(stats.scenario().id() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+        summary.put("throughput", round(completed / measuredSeconds));
+        summary.put("endpoints", results);
+        objectMapper.writeValue(directory.resolve("summary.json").toFile(), summary);
+        return summary;
+    }
+
+    void print(PrintStream out, Map<String, Object> summary) {
+        out.printf("%n%-20s %9s %9s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "unexpect", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        JsonNode endpoints = objectMapper.valueToTree(summary).get("endpoints");
+        endpoints.fields().forEachRemaining(entry -> {
+            JsonNode endpoint = entry.getValue();
+            JsonNode latency = endpoint.get("latencyMillis");
+            out.printf("%-20s %9d %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    endpoint.get("requests").asLong(), endpoint.get("unexpected").asLong(), endpoint.get("throughput").asDouble(),
+                    latency.get("p50").asDouble(), latency.get("p90").asDouble(), latency.get("p99").asDouble(),
+                    latency.get("p999").asDouble(), latency.get("max").asDouble());
+            out.printf("%-20s %s%n", "", endpoint.get("outcomes"));
+        });
+        out.printf("total throughput %.1f req/s, peak in flight %s%n",
+                ((Number) summary.get("throughput")).doubleValue(), summary.get("peakInFlight"));
+        out.printf("server (%s) %s%n", summary.get("stack"), summary.get("server"));
+    }
+
+    /** Prints throughput and percentile changes per endpoint against a baseline {@code summary.json}. */
+    void compare(PrintStream out, Map<String, Object> summary, Path baseline) throws IOException {
+        JsonNode before = objectMapper.readTree(baseline.toFile());
+        JsonNode after = objectMapper.valueToTree(summary);
+        out.printf("%nCompared with %s (%s)%n", baseline, before.path("startedAt").asText("?"));
+        if (!before.path("mix").equals(after.path("mix")) || !before.path("rate").equals(after.path("rate"))) {
+            out.println("warning: the baseline ran a different mix or rate");
+        }
+        out.printf("%-20s %-10s %12s %12s %9s%n", "endpoint", "metric", "baseline", "current", "change");
+        Iterator<Map.Entry<String, JsonNode>> endpoints = after.get("endpoints").fields();
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> entry = endpoints.next();
+            JsonNode previous = before.path("endpoints").path(entry.getKey());
+            if (previous.isMissingNode()) {
+                out.printf("%-20s not in baseline%n", entry.getKey());
+                continue;
+            }
+            line(out, entry.getKey(), "req/s", previous.get("throughput"), entry.getValue().get("throughput"));
+            for (String percentile : PERCENTILES) {
+                line(out, entry.getKey(), percentile + " ms",
+                        previous.get("latencyMillis").get(percentile), entry.getValue().get("latencyMillis").get(percentile));
+            }
+        }
+    }
+
+    private static Map<String, Object> endpoint(EndpointStats stats, Histogram histogram, double measuredSeconds) {
+        Map<String, Long> outcomes = stats.outcomes();
+        Map<String, Object> endpoint = new LinkedHashMap<>();
+        endpoint.put("requests", outcomes.values().stream().mapToLong(Long::longValue).sum());
+        endpoint.put("expectedStatus", stats.scenario().expectedStatus);
+        endpoint.put("unexpected", stats.unexpected());
+        endpoint.put("outcomes", outcomes);
+        endpoint.put("throughput", round(histogram.getTotalCount() / measuredSeconds));
+        Map<String, Object> latency = new LinkedHashMap<>();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            latency.put(PERCENTILES[i], millis(histogram.getValueAtPercentile(PERCENTILE_VALUES[i])));
+        }
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", millis(histogram.getMean()));
+        endpoint.put("latencyMillis", latency);
+        return endpoint;
+    }
+
+    private static void line(PrintStream out, String endpoint, String metric, JsonNode before, JsonNode after) {
+        double previous = before.asDouble();
+        double current = after.asDouble();
+        String change = previous == 0 ? "-" : "%+.1f%%".formatted((current - previous) * 100 / previous);
+        out.printf("%-20s %-10s %12.2f %12.2f %9s%n", endpoint, metric, previous, current, change);
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
@@ -0,0 +1,294 @@
+package com.miguel.backend_login_page.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miguel.backend_login_page.BackendLoginPageApplication;
+
+/**
+ * Open-model HTTP load generator. Requests are started at a constant arrival rate whether or
+ * not earlier ones have completed, and each latency is measured from the moment the request
+ * was due to start, not from when it was actually sent. A server (or generator) that falls
+ * behind therefore shows up as latency instead of as a quietly lower request rate.
+ * <p>
+ * Runs under the {@code loadtest} Maven profile:
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--embedded --mix=login-heavy --rate=50 --duration=60s"
+ * </pre>
+ *
+ * See PERFORMANCE.md for the options and the result files.
+ */
+public final class LoadTest {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    /** Only compiled under the reactive Maven profile, hence looked up by name. */
+    private static final String REACTIVE_APPLICATION = "com.miguel.backend_login_page.reactive.ReactiveAuthApplication";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.url;
+        if (options.embedded) {
+            List<String> appArgs = new ArrayList<>(List.of("--server.port=0"));
+            Class<?> applicationClass = BackendLoginPageApplication.class;
+            if (options.reactive) {
+                applicationClass = Class.forName(REACTIVE_APPLICATION);
+                appArgs.add("--spring.profiles.active=reactive,h2");
+                appArgs.add("--spring.main.web-application-type=reactive");
+            } else {
+                appArgs.add("--spring.profiles.active=h2");
+            }
+            options.appArgs.forEach(arg -> appArgs.add("--" + arg));
+            // DevTools would restart the application by calling this main method again.
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            application = SpringApplication.run(applicationClass, appArgs.toArray(String[]::new));
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            run(options, baseUrl);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static void run(Options options, String baseUrl) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String runId = LocalDateTime.now().format(RUN_ID);
+        Fixture fixture = Fixture.seed(client, objectMapper, baseUrl, options.users, options.tokens, runId,
+                options.passwordCost, options.introspectBatch);
+
+        Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : options.mix.scenarios()) {
+            stats.put(scenario, new EndpointStats(scenario));
+        }
+        List<EndpointStats> endpoints = List.copyOf(stats.values());
+        Instant startedAt = Instant.now();
+        System.out.printf("Running %s (%s) against %s at %.1f req/s: %s warmup, %s measured%n",
+                options.mix.name(), options.mix, baseUrl, options.rate, options.warmup, options.duration);
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        ServerFootprint footprint = new ServerFootprint(client, baseUrl, fixture.adminToken());
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        reporter.scheduleAtFixedRate(() -> {
+            progress(endpoints, inFlight, start, measureFrom);
+            footprint.sample();
+        }, options.reportInterval.toNanos(), options.reportInterval.toNanos(), TimeUnit.NANOSECONDS);
+
+        SplittableRandom random = new SplittableRandom(options.seed);
+        double periodNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        for (long sequence = 0; ; sequence++) {
+            long intended = start + (long) (sequence * periodNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Scenario scenario = options.mix.pick(random);
+            EndpointStats endpoint = stats.get(scenario);
+            boolean measured = intended >= measureFrom;
+            if (inFlight.get() >= options.maxInFlight) {
+                if (measured) {
+                    endpoint.saturated();
+                }
+                continue;
+            }
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            client.sendAsync(scenario.request(fixture, sequence, options.timeout), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long latency = System.nanoTime() - intended;
+                        inFlight.decrementAndGet();
+                        if (measured) {
+                            String outcome = response != null ? Integer.toString(response.statusCode()) : failure(failure);
+                            endpoint.record(latency, outcome, response != null && response.statusCode() == scenario.expectedStatus);
+                        }
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + options.timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        reporter.shutdown();
+        reporter.awaitTermination(5, TimeUnit.SECONDS);
+        endpoints.forEach(EndpointStats::interval);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("startedAt", startedAt.toString());
+        settings.put("target", baseUrl);
+        settings.put("stack", options.reactive ? "reactive" : "servlet");
+        settings.put("mix", options.mix.name());
+        settings.put("weights", options.mix.toString());
+        settings.put("rate", options.rate);
+        settings.put("warmupSeconds", options.warmup.toSeconds());
+        settings.put("durationSeconds", options.duration.toSeconds());
+        settings.put("users", options.users);
+        settings.put("tokens", options.tokens);
+        settings.put("passwordCost", options.passwordCost);
+        settings.put("introspectBatch", options.introspectBatch);
+        settings.put("seed", options.seed);
+        settings.put("maxInFlight", options.maxInFlight);
+        settings.put("timeoutMillis", options.timeout.toMillis());
+        settings.put("abandoned", inFlight.get());
+        settings.put("peakInFlight", peakInFlight.get());
+        settings.put("server", footprint.summary());
+
+        LoadReport report = new LoadReport(objectMapper);
+        Path directory = options.out.resolve(runId + "-" + options.mix.name());
+        Map<String, Object> summary = report.write(directory, settings, endpoints, options.duration.toNanos() / 1e9);
+        report.print(System.out, summary);
+        System.out.println("Results written to " + directory);
+        if (options.baseline != null) {
+            report.compare(System.out, summary, options.baseline);
+        }
+    }
+
+    private static String failure(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof HttpTimeoutException ? EndpointStats.TIMEOUT : EndpointStats.ERROR;
+    }
+
+    private static void progress(List<EndpointStats> endpoints, AtomicInteger inFlight, long start, long measureFrom) {
+        long now = System.nanoTime();
+        StringBuilder line = new StringBuilder("[%5ds]%s in-flight %d".formatted(
+                TimeUnit.NANOSECONDS.toSeconds(now - start), now < measureFrom ? " warmup" : "", inFlight.get()));
+        for (EndpointStats endpoint : endpoints) {
+            Histogram interval = endpoint.interval();
+            line.append(" | %s %d p99 %.1fms".formatted(endpoint.scenario().id(), interval.getTotalCount(),
+                    interval.getValueAtPercentile(99.0) / 1_000_000.0));
+        }
+        System.out.println(line);
+    }
+
+    private record Options(
+            String url,
+            boolean embedded,
+            boolean reactive,
+            List<String> appArgs,
+            Mix mix,
+            double rate,
+            Duration warmup,
+            Duration duration,
+            int users,
+            int tokens,
+            int passwordCost,
+            int introspectBatch,
+            Duration timeout,
+            int maxInFlight,
+            long seed,
+            Path out,
+            Path baseline,
+            Duration reportInterval) {
+
+        private static final String USAGE = """
+                Usage: [--url=http://localhost:8080 | --embedded [--reactive] [--app=PROPERTY=VALUE ...]]
+                       [--mix=mixed|login-heavy|user-read|register-burst|invalid-token-flood|SCENARIO:WEIGHT,...]
+                       [--rate=100] [--warmup=10s] [--duration=60s] [--users=1000] [--tokens=16] [--password-cost=10]
+                       [--introspect-batch=100]
+                       [--timeout=10s] [--max-in-flight=2000] [--seed=42] [--out=target/loadtest]
+                       [--baseline=PATH/summary.json] [--report-interval=5s]
+                Scenarios: login, login-bad-password, login-unknown-email, user, register, introspect, invalid-token""";
+
+        static Options parse(String[] args) {
+            String url = "http://localhost:8080";
+            boolean embedded = false;
+            boolean reactive = false;
+            List<String> appArgs = new ArrayList<>();
+            String mix = "mixed";
+            double rate = 100;
+            Duration warmup = Duration.ofSeconds(10);
+            Duration duration = Duration.ofSeconds(60);
+            int users = 1000;
+            int tokens = 16;
+            int passwordCost = 10;
+            int introspectBatch = 100;
+            Duration timeout = Duration.ofSeconds(10);
+            int maxInFlight = 2000;
+            long seed = 42;
+            Path out = Path.of("target", "loadtest");
+            Path baseline = null;
+            Duration reportInterval = Duration.ofSeconds(5);
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                String name = equals < 0 ? arg : arg.substring(0, equals);
+                String value = equals < 0 ? "" : arg.substring(equals + 1);
+                switch (name) {
+                    case "--url" -> url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    case "--embedded" -> embedded = true;
+                    case "--reactive" -> reactive = true;
+                    case "--app" -> appArgs.add(value);
+                    case "--mix" -> mix = value;
+                    case "--rate" -> rate = Double.parseDouble(value);
+                    case "--warmup" -> warmup = DurationStyle.detectAndParse(value);
+                    case "--duration" -> duration = DurationStyle.detectAndParse(value);
+                    case "--users" -> users = Integer.parseInt(value);
+                    case "--tokens" -> tokens = Integer.parseInt(value);
+                    case "--password-cost" -> passwordCost = Integer.parseInt(value);
+                    case "--introspect-batch" -> introspectBatch = Integer.parseInt(value);
+                    case "--timeout" -> timeout = DurationStyle.detectAndParse(value);
+                    case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--out" -> out = Path.of(value);
+                    case "--baseline" -> baseline = Path.of(value);
+                    case "--report-interval" -> reportInterval = DurationStyle.detectAndParse(value);
+                    default -> {
+                        System.err.println("Unknown option " + arg);
+                        System.err.println(USAGE);
+                        System.exit(2);
+                    }
+                }
+            }
+            if (rate <= 0 || users <= 0 || tokens <= 0 || duration.isZero() || duration.isNegative()) {
+                System.err.println("--rate, --users, --tokens and --duration must be positive");
+                System.exit(2);
+            }
+            return new Options(url, embedded, reactive, appArgs, Mix.parse(mix), rate, warmup, duration, users, tokens,
+                    passwordCost, introspectBatch, timeout, maxInFlight, seed, out, baseline, reportInterval);
+        }
+    }
+}
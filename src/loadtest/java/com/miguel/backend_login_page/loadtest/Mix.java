@@ -0,0 +1,58 @@
+package com.miguel.backend_login_page.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted choice of {@link Scenario}s. Either one of the presets or an explicit list such as
+ * {@code login:70,user:30}.
+ */
+record Mix(String name, Map<Scenario, Integer> weights, Scenario[] scenarios, int[] cumulative) {
+
+    static final Map<String, String> PRESETS = Map.of(
+            "login-heavy", "login:60,login-bad-password:25,login-unknown-email:10,user:5",
+            "user-read", "user:100",
+            "register-burst", "register:100",
+            "invalid-token-flood", "invalid-token:90,user:10",
+            "mixed", "user:50,login:20,login-bad-password:10,invalid-token:10,login-unknown-email:5,register:5");
+
+    static Mix parse(String spec) {
+        String name = PRESETS.containsKey(spec) ? spec : "custom";
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : PRESETS.getOrDefault(spec, spec).split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weights must be positive: " + entry);
+            }
+            weights.merge(Scenario.of(parts[0].trim()), weight, Integer::sum);
+        }
+
+        Scenario[] scenarios = weights.keySet().toArray(Scenario[]::new);
+        int[] cumulative = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += weights.get(scenarios[i]);
+            cumulative[i] = total;
+        }
+        return new Mix(name, weights, scenarios, cumulative);
+    }
+
+    Scenario pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return scenarios[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        weights.forEach((scenario, weight) -> spec.append(spec.isEmpty() ? "" : ",").append(scenario.id()).append(':').append(weight));
+        return spec.toString();
+    }
+}
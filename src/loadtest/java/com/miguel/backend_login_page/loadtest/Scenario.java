@@ -0,0 +1,117 @@
+package com.miguel.backend_login_page.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * One kind of request the generator can send, with the status a healthy server answers it with.
+ * Anything else is counted as unexpected in the report.
+ */
+enum Scenario {
+
+    /** {@code POST /auth/login} as a seeded user with the right password. */
+    LOGIN(200) {
+        @Override
+        HttpRequest request(Fixture fixture, long sequence, Duration timeout) {
+            return post(fixture, "/auth/login", timeout,
+                    "{\"email\":\"" + fixture.email(sequence) + "\",\"password\":\"" + Fixture.PASSWORD + "\"}");
+        }
+    },
+
+    /** {@code POST /auth/login} as a seeded user with a wrong password. */
+    LOGIN_BAD_PASSWORD(401) {
+        @Override
+        HttpRequest request(Fixture fixture, long sequence, Duration timeout) {
+            return post(fixture, "/auth/login", timeout,
+                    "{\"email\":\"" + fixture.email(sequence) + "\",\"password\":\"wrong-password\"}");
+        }
+    },
+
+    /** {@code POST /auth/login} for an email nobody registered. */
+    LOGIN_UNKNOWN_EMAIL(404) {
+        @Override
+        HttpRequest request(Fixture fixture, long sequence, Duration timeout) {
+            return post(fixture, "/auth/login", timeout,
+                    "{\"email\":\"nobody-" + sequence + "@loadtest.example\",\"password\":\"" + Fixture.PASSWORD + "\"}");
+        }
+    },
+
+    /** {@code GET /user} with one of the seeded users' access tokens. */
+    USER(200) {
+        @Override
+        HttpRequest request(Fixture fixture, long sequence, Duration timeout) {
+            return get(fixture, "/user", timeout, "Bearer " + fixture.token(sequence));
+        }
+    },
+
+    /** {@code POST /auth/register} with an email unique to this run. */
+    REGISTER(200) {
+        @Override
+        HttpRequest request(Fixture fixture, long sequence, Duration timeout) {
+            return post(fixture, "/auth/register", timeout,
+                    "{\"name\":\"Load Test\",\"email\":\"" + fixture.newEmail(sequence)
+                            + "\",\"password\":\"" + Fixture.PASSWORD + "\"}");
+        }
+    },
+
+    /** {@code POST /auth/introspect} with a batch of access and forged tokens, as a gateway would. */
+    INTROSPECT(200) {
+        @Override
+        HttpRequest request(Fixture fixture, long sequence, Duration timeout) {
+            return HttpRequest.newBuilder(URI.create(fixture.baseUrl() + "/auth/introspect"))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + fixture.adminToken())
+                    .POST(HttpRequest.BodyPublishers.ofString(fixture.introspectionBody()))
+                    .build();
+        }
+    },
+
+    /** {@code GET /user} with well-formed tokens signed by someone else. */
+    INVALID_TOKEN(403) {
+        @Override
+        HttpRequest request(Fixture fixture, long sequence, Duration timeout) {
+            return get(fixture, "/user", timeout, "Bearer " + fixture.forgedToken(sequence));
+        }
+    };
+
+    final int expectedStatus;
+
+    Scenario(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    abstract HttpRequest request(Fixture fixture, long sequence, Duration timeout);
+
+    /** The name used on the command line and in reports, e.g. {@code login-bad-password}. */
+    String id() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    static Scenario of(String id) {
+        for (Scenario scenario : values()) {
+            if (scenario.id().equals(id)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario " + id);
+    }
+
+    private static HttpRequest post(Fixture fixture, String path, Duration timeout, String json) {
+        return HttpRequest.newBuilder(URI.create(fixture.baseUrl() + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest get(Fixture fixture, String path, Duration timeout, String authorization) {
+        return HttpRequest.newBuilder(URI.create(fixture.baseUrl() + path))
+                .timeout(timeout)
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+    }
+}
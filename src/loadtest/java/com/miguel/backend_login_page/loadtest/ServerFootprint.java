@@ -0,0 +1,89 @@
+package com.miguel.backend_login_page.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Peak thread count and memory use of the server under test, read from its
+ * {@code /actuator/prometheus} endpoint at every progress report. This is how the servlet and
+ * reactive stacks are compared at the same offered load. With {@code --embedded} the numbers
+ * include the generator itself, which shares the JVM. On the public port the endpoint needs an
+ * admin, so requests carry the seeding admin's token.
+ */
+final class ServerFootprint {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    private final HttpClient client;
+    private final URI uri;
+    private final String adminToken;
+    private volatile boolean available = true;
+    private int samples;
+    private double peakThreads;
+    private double peakHeapBytes;
+    private double peakNonHeapBytes;
+
+    ServerFootprint(HttpClient client, String baseUrl, String adminToken) {
+        this.client = client;
+        this.uri = URI.create(baseUrl + "/actuator/prometheus");
+        this.adminToken = adminToken;
+    }
+
+    /** Called from the reporter thread only. Stops trying after the first failure. */
+    void sample() {
+        if (!available) {
+            return;
+        }
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).timeout(TIMEOUT)
+                    .header("Authorization", "Bearer " + adminToken).GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("HTTP " + response.statusCode());
+            }
+            double threads = 0;
+            double heap = 0;
+            double nonHeap = 0;
+            for (String line : response.body().split("\n")) {
+                if (line.startsWith("jvm_threads_live_threads")) {
+                    threads = value(line);
+                } else if (line.startsWith("jvm_memory_used_bytes{")) {
+                    if (line.contains("area=\"heap\"")) {
+                        heap += value(line);
+                    } else if (line.contains("area=\"nonheap\"")) {
+                        nonHeap += value(line);
+                    }
+                }
+            }
+            synchronized (this) {
+                samples++;
+                peakThreads = Math.max(peakThreads, threads);
+                peakHeapBytes = Math.max(peakHeapBytes, heap);
+                peakNonHeapBytes = Math.max(peakNonHeapBytes, nonHeap);
+            }
+        } catch (Exception exception) {
+            available = false;
+            System.out.println("Server footprint not sampled (" + uri + ": " + exception.getMessage() + ")");
+            if (exception instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    synchronized Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("samples", samples);
+        summary.put("peakThreads", (long) peakThreads);
+        summary.put("peakHeapMiB", Math.round(peakHeapBytes / (1 << 20)));
+        summary.put("peakNonHeapMiB", Math.round(peakNonHeapBytes / (1 << 20)));
+        return summary;
+    }
+
+    private static double value(String line) {
+        return Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+    }
+}
@@ -0,0 +1,279 @@
+package com.miguel.backend_login_page.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Startup time and resident memory of the packaged application, one fresh process per run. A
+ * run counts from process launch to the first {@code 200} from {@code /actuator/health}, which
+ * is what a readiness probe waits for; the "Started ... in" time Spring logs is reported next
+ * to it. RSS is read from {@code /proc/<pid>/status} at that moment, so it is Linux only.
+ * <p>
+ * Variants are found from what the build left in {@code target}:
+ * <ul>
+ * <li>{@code jar}: {@code java -jar} on the packaged jar</li>
+ * <li>{@code aot}: the same jar with {@code -Dspring.aot.enabled=true}, if it was built with
+ * {@code -Paot}</li>
+ * <li>{@code cds}: the extracted jar in {@code target/cds} with its class-data-sharing archive
+ * ({@code -Pcds}), plus the AOT flag if that jar was AOT-processed</li>
+ * <li>{@code native}: the GraalVM executable ({@code -Pnative native:compile})</li>
+ * </ul>
+ * Every variant runs on the {@code h2} profile so that no database is needed. Runs under the
+ * {@code startup} Maven profile:
+ *
+ * <pre>
+ * mvn -Pstartup test-compile exec:exec -Dstartup.args="--runs=5"
+ * </pre>
+ *
+ * See PERFORMANCE.md for the build commands and results.
+ */
+public final class StartupBenchmark {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final Pattern VM_RSS = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+    /** Present in a jar only when process-aot ran during the build. */
+    private static final String AOT_INITIALIZER =
+            "BOOT-INF/classes/com/miguel/backend_login_page/BackendLoginPageApplication__ApplicationContextInitializer.class";
+    private static final String AOT_INITIALIZER_EXTRACTED =
+            "com/miguel/backend_login_page/BackendLoginPageApplication__ApplicationContextInitializer.class";
+    private static final String AOT_ENABLED = "-Dspring.aot.enabled=true";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<Variant> variants = Variant.detect(options);
+        if (variants.isEmpty()) {
+            System.err.println("Nothing to run in " + options.target + "; package the application first (mvn package)");
+            System.exit(2);
+        }
+        Path directory = options.out.resolve(LocalDateTime.now().format(RUN_ID));
+        Files.createDirectories(directory);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Variant variant : variants) {
+            System.out.println("== " + variant.name + ": " + String.join(" ", variant.command));
+            List<Run> runs = new ArrayList<>();
+            for (int i = 0; i < options.runs; i++) {
+                Run run = measure(client, variant, options, directory.resolve(variant.name + "-" + i + ".log"));
+                System.out.printf("   run %d: ready %d ms, started %s, RSS %d MiB%n", i + 1, run.readyMillis,
+                        run.startedMillis < 0 ? "n/a" : run.startedMillis + " ms", run.rssKiB / 1024);
+                runs.add(run);
+            }
+            results.put(variant.name, summary(variant, runs));
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("runs", options.runs);
+        summary.put("processors", Runtime.getRuntime().availableProcessors());
+        summary.put("javaVersion", System.getProperty("java.version"));
+        summary.put("variants", results);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(directory.resolve("summary.json").toFile(), summary);
+
+        System.out.println();
+        System.out.printf("%-8s %14s %16s %12s%n", "variant", "ready ms (p50)", "started ms (p50)", "RSS MiB (p50)");
+        for (Map.Entry<String, Object> entry : results.entrySet()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> result = (Map<String, Object>) entry.getValue();
+            System.out.printf("%-8s %14s %16s %12s%n", entry.getKey(), result.get("readyMillisMedian"),
+                    result.get("startedMillisMedian"), result.get("rssMiBMedian"));
+        }
+        System.out.println("Results in " + directory);
+    }
+
+    private static Run measure(HttpClient client, Variant variant, Options options, Path log) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(variant.command);
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=h2");
+        options.appArgs.forEach(arg -> command.add("--" + arg));
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1)).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(variant.directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + options.timeout.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(variant.name + " not ready within " + options.timeout + ", see " + log);
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException notListening) {
+                    // Not accepting connections yet.
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long rssKiB = rss(process.pid());
+            Matcher started = STARTED.matcher(Files.readString(log));
+            long startedMillis = started.find() ? Math.round(Double.parseDouble(started.group(1)) * 1000) : -1;
+            return new Run(readyMillis, startedMillis, rssKiB);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static Map<String, Object> summary(Variant variant, List<Run> runs) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("command", String.join(" ", variant.command));
+        summary.put("readyMillis", runs.stream().map(Run::readyMillis).toList());
+        summary.put("readyMillisMedian", median(runs.stream().map(Run::readyMillis).toList()));
+        summary.put("startedMillis", runs.stream().map(Run::startedMillis).toList());
+        summary.put("startedMillisMedian", median(runs.stream().map(Run::startedMillis).toList()));
+        summary.put("rssMiB", runs.stream().map(run -> run.rssKiB / 1024).toList());
+        summary.put("rssMiBMedian", median(runs.stream().map(run -> run.rssKiB / 1024).toList()));
+        return summary;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static long rss(long pid) throws IOException {
+        Matcher matcher = VM_RSS.matcher(Files.readString(Path.of("/proc", Long.toString(pid), "status")));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Run(long readyMillis, long startedMillis, long rssKiB) {
+    }
+
+    private record Variant(String name, Path directory, List<String> command) {
+
+        static List<Variant> detect(Options options) throws IOException {
+            String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+            List<Variant> variants = new ArrayList<>();
+            Path jar = options.target.resolve("backend_login_page-0.0.1-SNAPSHOT.jar");
+            if (Files.isRegularFile(jar)) {
+                variants.add(jvm("jar", options, options.target, java, List.of(), jar));
+                if (contains(jar, AOT_INITIALIZER)) {
+                    variants.add(jvm("aot", options, options.target, java, List.of(AOT_ENABLED), jar));
+                }
+            }
+            Path cds = options.target.resolve("cds");
+            Path cdsJar = cds.resolve("application.jar");
+            if (Files.isRegularFile(cds.resolve("application.jsa")) && Files.isRegularFile(cdsJar)) {
+                List<String> flags = new ArrayList<>(List.of("-XX:SharedArchiveFile=application.jsa"));
+                if (contains(cdsJar, AOT_INITIALIZER_EXTRACTED)) {
+                    flags.add(AOT_ENABLED);
+                }
+                variants.add(jvm("cds", options, cds, java, flags, cdsJar));
+            }
+            Path executable = options.target.resolve("backend_login_page");
+            if (Files.isExecutable(executable) && !Files.isDirectory(executable)) {
+                variants.add(new Variant("native", options.target, List.of(executable.toAbsolutePath().toString())));
+            }
+            return variants.stream().filter(variant -> options.only.isEmpty() || options.only.contains(variant.name)).toList();
+        }
+
+        private static Variant jvm(String name, Options options, Path directory, String java, List<String> flags, Path jar) {
+            List<String> command = new ArrayList<>(List.of(java));
+            command.addAll(options.jvmArgs);
+            command.addAll(flags);
+            command.add("-jar");
+            command.add(jar.toAbsolutePath().toString());
+            return new Variant(name, directory, command);
+        }
+
+        private static boolean contains(Path jar, String entry) throws IOException {
+            try (JarFile file = new JarFile(jar.toFile())) {
+                return file.getEntry(entry) != null;
+            }
+        }
+    }
+
+    private record Options(
+            Path target,
+            List<String> only,
+            int runs,
+            List<String> jvmArgs,
+            List<String> appArgs,
+            Duration timeout,
+            Path out) {
+
+        private static final String USAGE = """
+                Usage: [--target=target] [--variants=jar,aot,cds,native] [--runs=5] [--jvm=FLAG ...]
+                       [--app=PROPERTY=VALUE ...] [--timeout=120s] [--out=target/startup]""";
+
+        static Options parse(String[] args) {
+            Path target = Path.of("target");
+            List<String> only = List.of();
+            int runs = 5;
+            List<String> jvmArgs = new ArrayList<>();
+            List<String> appArgs = new ArrayList<>();
+            Duration timeout = Duration.ofSeconds(120);
+            Path out = Path.of("target", "startup");
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                String name = equals < 0 ? arg : arg.substring(0, equals);
+                String value = equals < 0 ? "" : arg.substring(equals + 1);
+                switch (name) {
+                    case "--target" -> target = Path.of(value);
+                    case "--variants" -> only = List.of(value.split(","));
+                    case "--runs" -> runs = Integer.parseInt(value);
+                    case "--jvm" -> jvmArgs.add(value);
+                    case "--app" -> appArgs.add(value);
+                    case "--timeout" -> timeout = DurationStyle.detectAndParse(value);
+                    case "--out" -> out = Path.of(value);
+                    default -> {
+                        System.err.println("Unknown option " + arg);
+                        System.err.println(USAGE);
+                        System.exit(2);
+                    }
+                }
+            }
+            if (runs <= 0) {
+                System.err.println("--runs must be positive");
+                System.exit(2);
+            }
+            return new Options(target, only, runs, jvmArgs, appArgs, timeout, out);
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.miguel.backend_login_page;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// The reactive Maven profile puts R2DBC on the classpath; this application stays on JDBC.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class BackendLoginPageApplication {
 
 	public static void main(String[] args) {
@@ -1,58 +1,163 @@
 package com.miguel.backend_login_page.controllers;
 
-import java.util.Optional;
+import java.util.Locale;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.miguel.backend_login_page.domain.audit.LoginAudit.Outcome;
 import com.miguel.backend_login_page.domain.user.User;
 import com.miguel.backend_login_page.dto.LoginRequestDTO;
+import com.miguel.backend_login_page.dto.RefreshRequestDTO;
 import com.miguel.backend_login_page.dto.RegisterRequestDTO;
 import com.miguel.backend_login_page.dto.ResponseDTO;
+import com.miguel.backend_login_page.infra.audit.AuthEventLog;
+import com.miguel.backend_login_page.infra.audit.AuthEventType;
+import com.miguel.backend_login_page.infra.audit.LoginAuditor;
 import com.miguel.backend_login_page.infra.exception.InvalidCredentialsException;
+import com.miguel.backend_login_page.infra.exception.InvalidTokenException;
 import com.miguel.backend_login_page.infra.exception.UserAlreadyExistsException;
 import com.miguel.backend_login_page.infra.exception.UserNotFoundException;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics.Stage;
+import com.miguel.backend_login_page.infra.security.KnownEmailFilter;
+import com.miguel.backend_login_page.infra.security.PasswordHashingExecutor;
+import com.miguel.backend_login_page.infra.security.TokenRevocationStore;
 import com.miguel.backend_login_page.infra.security.TokenService;
+import com.miguel.backend_login_page.infra.security.VerifiedToken;
 import com.miguel.backend_login_page.repository.UserRepository;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
 public class AuthController {
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     private final UserRepository repository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashing;
     private final TokenService tokenService;
+    private final KnownEmailFilter knownEmails;
+    private final AuthMetrics metrics;
+    private final TokenRevocationStore revocations;
+    private final LoginAuditor audit;
+    private final AuthEventLog eventLog;
 
     @PostMapping("/login")
-    public ResponseEntity login(@RequestBody LoginRequestDTO body) {
-        User user = this.repository.findByEmail(body.email()).orElseThrow(() -> new UserNotFoundException("User not found"));
-        if (passwordEncoder.matches(body.password(), user.getPassword())) {
-            String token = this.tokenService.generateToken(user);
-            return ResponseEntity.ok(new ResponseDTO(user.getName(), token));
+    public ResponseEntity login(@RequestBody LoginRequestDTO body, HttpServletRequest request) {
+        if (!knownEmails.mightContain(body.email())) {
+            passwordHashing.simulateMatch(body.password());
+            recordLogin(body.email(), null, Outcome.UNKNOWN_EMAIL, request);
+            throw new UserNotFoundException("User not found");
+        }
+        User user = metrics.record(Stage.LOGIN_USER_LOOKUP, () -> this.repository.findByEmail(body.email())).orElseThrow(() -> {
+            passwordHashing.simulateMatch(body.password());
+            recordLogin(body.email(), null, Outcome.UNKNOWN_EMAIL, request);
+            return new UserNotFoundException("User not found");
+        });
+        if (metrics.record(Stage.LOGIN_PASSWORD_MATCH, () -> passwordHashing.matches(body.password(), user.getPassword()))) {
+            if (passwordHashing.upgradeEncoding(user.getPassword())) {
+                rehash(user, body.password());
+            }
+            recordLogin(user.getEmail(), user.getId(), Outcome.SUCCESS, request);
+            return ResponseEntity.ok(issueTokens(user));
         }
+        recordLogin(user.getEmail(), user.getId(), Outcome.BAD_PASSWORD, request);
         throw new InvalidCredentialsException("Invalid email or password");
     }
 
     @PostMapping("/register")
-    public ResponseEntity register(@RequestBody RegisterRequestDTO body) {
-        Optional<User> user = this.repository.findByEmail(body.email());
-
-        if (user.isPresent()) {
-            throw new UserAlreadyExistsException("User already exists with this email");
-        }
-
+    public ResponseEntity register(@RequestBody RegisterRequestDTO body, HttpServletRequest request) {
         User newUser = new User();
-        newUser.setPassword(passwordEncoder.encode(body.password()));
+        newUser.setPassword(metrics.record(Stage.REGISTER_PASSWORD_HASH, () -> passwordHashing.encode(body.password())));
         newUser.setEmail(body.email());
         newUser.setName(body.name());
-        this.repository.save(newUser);
-        String token = this.tokenService.generateToken(newUser);
-        return ResponseEntity.ok(new ResponseDTO(newUser.getName(), token));
+        try {
+            metrics.record(Stage.REGISTER_INSERT, () -> this.repository.save(newUser));
+        } catch (DataIntegrityViolationException exception) {
+            if (isDuplicateEmail(exception)) {
+                eventLog.append(AuthEventType.REGISTER_DUPLICATE, body.email(), request.getRemoteAddr());
+                throw new UserAlreadyExistsException("User already exists with this email", exception);
+            }
+            throw exception;
+        }
+        eventLog.append(AuthEventType.REGISTER, newUser.getEmail(), request.getRemoteAddr());
+        return ResponseEntity.ok(issueTokens(newUser));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity refresh(@RequestBody RefreshRequestDTO body) {
+        VerifiedToken refresh = tokenService.verifyRefreshToken(body.refreshToken());
+        // Rotation: each refresh token is revoked as it is used, so replaying one fails.
+        if (refresh == null || !revocations.revoke(refresh.tokenId(), refresh.expiresAt())) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+        User user = this.repository.findByEmail(refresh.subject())
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+        return ResponseEntity.ok(issueTokens(user));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity logout(Authentication authentication, @RequestBody(required = false) RefreshRequestDTO body) {
+        if (authentication.getCredentials() instanceof VerifiedToken access) {
+            revocations.revoke(access.tokenId(), access.expiresAt());
+            if (body != null) {
+                VerifiedToken refresh = tokenService.verifyRefreshToken(body.refreshToken());
+                if (refresh != null && refresh.subject().equals(access.subject())) {
+                    revocations.revoke(refresh.tokenId(), refresh.expiresAt());
+                }
+            }
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Best effort: the password has already matched, so a full hashing pool or a failed write
+     * only postpones the upgrade to a later login.
+     */
+    private void rehash(User user, String password) {
+        String previous = user.getPassword();
+        try {
+            metrics.record(Stage.LOGIN_REHASH, () -> {
+                user.setPassword(passwordHashing.encode(password));
+                this.repository.save(user);
+            });
+        } catch (RuntimeException exception) {
+            user.setPassword(previous);
+            log.debug("Skipped the password rehash for user {}: {}", user.getId(), exception.toString());
+        }
+    }
+
+    private void recordLogin(String email, String userId, Outcome outcome, HttpServletRequest request) {
+        audit.record(email, userId, outcome, request.getRemoteAddr());
+        eventLog.append(switch (outcome) {
+            case SUCCESS -> AuthEventType.LOGIN_SUCCESS;
+            case UNKNOWN_EMAIL -> AuthEventType.LOGIN_UNKNOWN_EMAIL;
+            case BAD_PASSWORD -> AuthEventType.LOGIN_BAD_PASSWORD;
+        }, email, request.getRemoteAddr());
+    }
+
+    private ResponseDTO issueTokens(User user) {
+        return new ResponseDTO(user.getName(), tokenService.generateToken(user), tokenService.generateRefreshToken(user));
+    }
+
+    private boolean isDuplicateEmail(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName();
+                return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(User.EMAIL_INDEX);
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,32 @@
+package com.miguel.backend_login_page.controllers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.miguel.backend_login_page.infra.security.SigningKeyRing;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes the public token verification keys so other services can check tokens locally.
+ * The set always includes the next key, so a client refreshing within one rotation interval
+ * never sees a kid it does not know.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+    private final SigningKeyRing keyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", keyRing.snapshot().jwks()));
+    }
+}
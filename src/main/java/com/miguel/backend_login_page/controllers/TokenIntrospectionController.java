@@ -0,0 +1,121 @@
+package com.miguel.backend_login_page.controllers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.miguel.backend_login_page.dto.IntrospectRequestDTO;
+import com.miguel.backend_login_page.infra.exception.BatchTooLargeException;
+import com.miguel.backend_login_page.infra.security.TokenIntrospector;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Batch token introspection for API gateways. Takes {@code {"tokens":[...]}} and answers with
+ * one NDJSON line per token, in request order: {@code {"active":true,"sub":...,"exp":...}}
+ * with {@code exp} in epoch seconds, or {@code {"active":false}}. Results are written and
+ * flushed a chunk at a time, so the first lines of a large batch arrive while the rest is
+ * still being verified.
+ */
+@RestController
+@RequestMapping("/auth")
+public class TokenIntrospectionController {
+    private final TokenIntrospector introspector;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
+    private final int chunkSize;
+
+    public TokenIntrospectionController(
+            TokenIntrospector introspector,
+            ObjectMapper objectMapper,
+            @Value("${api.security.introspection.max-batch-size:10000}") int maxBatchSize,
+            @Value("${api.security.introspection.chunk-size:512}") int chunkSize) {
+        this.introspector = introspector;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void introspect(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<String> tokens = readTokens(request.getInputStream());
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        // Lines are separated by hand; the default root separator would add a space.
+        json.setRootValueSeparator(null);
+        TokenIntrospector.Result[] results = new TokenIntrospector.Result[Math.min(chunkSize, tokens.size())];
+        for (int from = 0; from < tokens.size(); from += chunkSize) {
+            List<String> chunk = tokens.subList(from, Math.min(tokens.size(), from + chunkSize));
+            introspector.introspect(chunk, results);
+            for (int i = 0; i < chunk.size(); i++) {
+                writeLine(json, results[i]);
+            }
+            json.flush();
+        }
+        json.flush();
+    }
+
+    /**
+     * Reads the {@code tokens} array of an {@link IntrospectRequestDTO} straight off the
+     * request. Binding it with {@code @RequestBody} would materialise the whole list before
+     * the size could be checked; this stops at the first token past {@code maxBatchSize}.
+     */
+    private List<String> readTokens(InputStream in) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw MismatchedInputException.from(parser, IntrospectRequestDTO.class, "Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"tokens".equals(field) || value == JsonToken.VALUE_NULL) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value != JsonToken.START_ARRAY) {
+                    throw MismatchedInputException.from(parser, IntrospectRequestDTO.class, "tokens must be an array");
+                }
+                while ((value = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        throw MismatchedInputException.from(parser, IntrospectRequestDTO.class, "tokens must be strings");
+                    }
+                    if (tokens.size() == maxBatchSize) {
+                        throw new BatchTooLargeException("At most " + maxBatchSize + " tokens per request");
+                    }
+                    tokens.add(parser.getValueAsString());
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static void writeLine(JsonGenerator json, TokenIntrospector.Result result) throws IOException {
+        json.writeStartObject();
+        json.writeBooleanField("active", result.active());
+        if (result.active()) {
+            json.writeStringField("sub", result.subject());
+            if (result.expiresAt() != null) {
+                json.writeNumberField("exp", result.expiresAt().getEpochSecond());
+            }
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+}
@@ -0,0 +1,69 @@
+package com.miguel.backend_login_page.controllers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miguel.backend_login_page.dto.ImportLineErrorDTO;
+import com.miguel.backend_login_page.dto.ImportProgressDTO;
+import com.miguel.backend_login_page.services.UserImportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/users")
+@RequiredArgsConstructor
+public class UserImportController {
+    private final UserImportService importService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+    public void importUsers(
+            @RequestHeader("Content-Type") String contentType,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            ImportProgressDTO summary = importService.importUsers(reader, format, new UserImportService.Listener() {
+                @Override
+                public void onError(ImportLineErrorDTO error) throws IOException {
+                    writeLine(out, error);
+                }
+
+                @Override
+                public void onProgress(ImportProgressDTO progress) throws IOException {
+                    writeLine(out, progress);
+                    out.flush();
+                }
+            });
+            writeLine(out, summary);
+        } catch (UserImportService.ImportFailedException exception) {
+            // The response is already committed, so the failure is reported in the stream.
+            writeLine(out, exception.getProgress());
+        }
+        out.flush();
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+}
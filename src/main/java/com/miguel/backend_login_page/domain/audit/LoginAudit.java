@@ -0,0 +1,48 @@
+package com.miguel.backend_login_page.domain.audit;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One login attempt. Rows are written in JDBC batches by {@code LoginAuditStore}; the mapping
+ * exists for the schema and for reading the trail back.
+ */
+@Entity
+@Table(name = "login_audit", indexes = {
+        @Index(name = "ix_login_audit_email", columnList = "email, occurredAt"),
+        @Index(name = "ix_login_audit_occurred_at", columnList = "occurredAt")
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoginAudit {
+
+    public enum Outcome { SUCCESS, UNKNOWN_EMAIL, BAD_PASSWORD }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Instant occurredAt;
+    private String email;
+    @Column(length = 36)
+    private String userId;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Outcome outcome;
+    @Column(length = 45)
+    private String remoteAddress;
+}
@@ -0,0 +1,29 @@
+package com.miguel.backend_login_page.domain.audit;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Time of a user's latest successful login. Kept out of {@code users} so that recording a
+ * login never touches the cached {@code User} entity.
+ */
+@Entity
+@Table(name = "user_last_login")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserLastLogin {
+    @Id
+    @Column(length = 36)
+    private String userId;
+    private Instant lastLoginAt;
+}
@@ -0,0 +1,30 @@
+package com.miguel.backend_login_page.domain.token;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "ix_revoked_tokens_expires_at", columnList = "expiresAt"),
+        @Index(name = "ix_revoked_tokens_revoked_at", columnList = "revokedAt")
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokedToken {
+    @Id
+    @Column(length = 64)
+    private String jti;
+    private Instant expiresAt;
+    private Instant revokedAt;
+}
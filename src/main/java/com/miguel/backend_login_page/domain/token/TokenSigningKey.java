@@ -0,0 +1,47 @@
+package com.miguel.backend_login_page.domain.token;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One entry of the token signing key ring. A key with no {@code activatedAt} is the published
+ * next key, an activated key without {@code retiredAt} signs new tokens, and a retired key
+ * only verifies tokens issued before it was retired.
+ * <p>
+ * {@code privateKey} holds the PKCS#8 key encrypted by {@code SigningKeyCipher}. {@code version}
+ * makes concurrent changes to the ring from different nodes fail instead of overwriting each
+ * other.
+ */
+@Entity
+@Table(name = "token_signing_keys")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenSigningKey {
+    @Id
+    @Column(length = 64)
+    private String kid;
+    private String algorithm;
+    @Column(length = 512)
+    private byte[] publicKey;
+    @Column(length = 512)
+    private byte[] privateKey;
+    private Instant createdAt;
+    private Instant activatedAt;
+    private Instant retiredAt;
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+}
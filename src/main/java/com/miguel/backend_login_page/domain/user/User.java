@@ -1,9 +1,21 @@
 package com.miguel.backend_login_page.domain.user;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import com.miguel.backend_login_page.infra.persistence.RecentUserWrites;
+import com.miguel.backend_login_page.infra.security.KnownEmailListener;
+import com.miguel.backend_login_page.infra.security.PrincipalCacheInvalidator;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -11,16 +23,25 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = User.EMAIL_INDEX, columnList = "email", unique = true))
+@EntityListeners({ PrincipalCacheInvalidator.class, KnownEmailListener.class, RecentUserWrites.class })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class User {
+    public static final String EMAIL_INDEX = "ux_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
     private String name;
+    @NaturalId
     private String email;
     private String password;
+    /** {@code UserRoles} bits, set by an operator; never from a request. */
+    @ColumnDefault("0")
+    private int roles;
 }
@@ -0,0 +1,8 @@
+package com.miguel.backend_login_page.dto;
+
+public record ImportLineErrorDTO(String type, long line, String email, String error) {
+
+    public ImportLineErrorDTO(long line, String email, String error) {
+        this("error", line, email, error);
+    }
+}
@@ -0,0 +1,10 @@
+package com.miguel.backend_login_page.dto;
+
+public record ImportProgressDTO(
+    String type,
+    long processed,
+    long imported,
+    long rejected,
+    long elapsedMillis,
+    double usersPerSecond
+) { }
@@ -0,0 +1,5 @@
+package com.miguel.backend_login_page.dto;
+
+public record ImportUserDTO(String name, String email, String password, String passwordHash) {
+
+}
@@ -0,0 +1,7 @@
+package com.miguel.backend_login_page.dto;
+
+import java.util.List;
+
+public record IntrospectRequestDTO(List<String> tokens) {
+
+}
@@ -1,5 +1,5 @@
 package com.miguel.backend_login_page.dto;
 
-public record ResponseDTO(String name, String token) {
+public record ResponseDTO(String name, String token, String refreshToken) {
 
 }
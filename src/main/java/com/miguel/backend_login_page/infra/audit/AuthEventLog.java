@@ -0,0 +1,332 @@
+package com.miguel.backend_login_page.infra.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Append-only binary log of authentication events in memory-mapped segment files, for local
+ * forensics without loading the database. Read it back with {@link AuthEventLogReader}.
+ * <p>
+ * Appending is lock-free and allocation-free for ASCII emails. A writer reserves space in the
+ * current segment with one atomic add and at once stores the negated length as a provisional
+ * marker. It then fills the record with absolute puts on the shared mapping and publishes it
+ * by writing the positive length last, with release semantics. The page cache does the I/O,
+ * so a process crash loses only the records still being written: the reader skips them by
+ * their provisional length and goes on to the records other writers finished after them.
+ * Only {@link #destroy()} forces pages to disk; after a power loss, the last seconds written
+ * may be missing.
+ * <p>
+ * A segment starts with a 16-byte header (magic, version, creation time). Each record is
+ * aligned to 8 bytes: {@code int length, byte type, byte addressLength, short emailLength,
+ * long epochMillis}, then the address in ASCII and the email in UTF-8. A negative length
+ * marks an unfinished record. A length of zero is space nobody has written yet: the end of
+ * the written part, or, after a crash between reserving and marking, a hole the reader
+ * steps over 8 bytes at a time. When a record does not fit, the writer that noticed opens
+ * the next segment. {@link #maintain()} also rolls segments by age and deletes those past the
+ * retention period or the size budget.
+ */
+@Component
+public class AuthEventLog implements DisposableBean {
+
+    static final int MAGIC = 0x41455631;
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER = 16;
+    static final int RECORD_HEADER = 16;
+    static final int MAX_ADDRESS = 64;
+    static final int MAX_EMAIL = 320;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ORDER);
+
+    private static final Logger log = LoggerFactory.getLogger(AuthEventLog.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("auth-events-(\\d{20})\\.log");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long rollIntervalMillis;
+    private final long retentionMillis;
+    private final long maxTotalBytes;
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile Segment current;
+    private long lastSequence;
+    private boolean rollFailing;
+
+    @Autowired
+    public AuthEventLog(
+            @Value("${api.audit.event-log.enabled:false}") boolean enabled,
+            @Value("${api.audit.event-log.dir:auth-events}") Path directory,
+            @Value("${api.audit.event-log.segment-size:64MB}") DataSize segmentSize,
+            @Value("${api.audit.event-log.roll-interval:1h}") Duration rollInterval,
+            @Value("${api.audit.event-log.retention:7d}") Duration retention,
+            @Value("${api.audit.event-log.max-size:2GB}") DataSize maxSize) {
+        this(enabled ? directory : null, segmentSize.toBytes(), rollInterval, retention, maxSize.toBytes());
+    }
+
+    /** @param directory {@code null} for a log that discards everything */
+    public AuthEventLog(Path directory, long segmentSize, Duration rollInterval, Duration retention, long maxTotalBytes) {
+        if (segmentSize < 4096 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segment-size must be between 4KB and 2GB");
+        }
+        this.directory = directory;
+        this.segmentSize = (int) segmentSize;
+        this.rollIntervalMillis = rollInterval.toMillis();
+        this.retentionMillis = retention.toMillis();
+        this.maxTotalBytes = maxTotalBytes;
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+                lastSequence = segments(directory).stream().mapToLong(AuthEventLog::sequence).max().orElse(0);
+                current = openSegment(System.currentTimeMillis());
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Cannot open auth event log in " + directory, exception);
+            }
+            log.info("Auth event log writing to {}", directory.toAbsolutePath());
+        }
+    }
+
+    public static AuthEventLog disabled() {
+        return new AuthEventLog(null, 1L << 20, Duration.ofHours(1), Duration.ofDays(1), Long.MAX_VALUE);
+    }
+
+    /**
+     * Appends one event. Never blocks on I/O; if no segment can be opened the event is counted
+     * as dropped.
+     *
+     * @param email         may be {@code null}; truncated to 320 bytes
+     * @param remoteAddress may be {@code null}; truncated to 64 characters
+     */
+    public void append(AuthEventType type, String email, String remoteAddress) {
+        Segment segment = current;
+        if (segment == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int addressLength = remoteAddress == null ? 0 : Math.min(remoteAddress.length(), MAX_ADDRESS);
+        byte[] encodedEmail = null;
+        int emailLength = 0;
+        if (email != null) {
+            emailLength = Math.min(email.length(), MAX_EMAIL);
+            if (!isAscii(email, emailLength)) {
+                encodedEmail = utf8(email);
+                emailLength = encodedEmail.length;
+            }
+        }
+        int size = align(RECORD_HEADER + addressLength + emailLength);
+
+        int offset;
+        while ((offset = segment.reserve(size)) < 0) {
+            segment = roll(segment);
+            if (segment == null) {
+                dropped.increment();
+                return;
+            }
+        }
+
+        MappedByteBuffer buffer = segment.buffer;
+        INT.set(buffer, offset, -size);
+        // The marker must reach the mapping before any of the record does.
+        VarHandle.storeStoreFence();
+        buffer.put(offset + 4, type.code);
+        buffer.put(offset + 5, (byte) addressLength);
+        buffer.putShort(offset + 6, (short) emailLength);
+        buffer.putLong(offset + 8, now);
+        int position = offset + RECORD_HEADER;
+        for (int i = 0; i < addressLength; i++) {
+            buffer.put(position++, (byte) remoteAddress.charAt(i));
+        }
+        if (encodedEmail != null) {
+            buffer.put(position, encodedEmail);
+        } else {
+            for (int i = 0; i < emailLength; i++) {
+                buffer.put(position++, (byte) email.charAt(i));
+            }
+        }
+        INT.setRelease(buffer, offset, size);
+        appended.increment();
+    }
+
+    public long getAppendedCount() {
+        return appended.sum();
+    }
+
+    /** Events lost because a new segment could not be opened. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** Rolls a segment that has been open longer than the roll interval and applies retention. */
+    @Scheduled(fixedDelayString = "${api.audit.event-log.maintenance-interval:1m}",
+            initialDelayString = "${api.audit.event-log.maintenance-interval:1m}")
+    public void maintain() {
+        Segment segment = current;
+        if (segment == null) {
+            return;
+        }
+        if (segment.hasRecords() && System.currentTimeMillis() - segment.createdAtMillis >= rollIntervalMillis) {
+            roll(segment);
+        }
+        try {
+            applyRetention();
+        } catch (IOException exception) {
+            log.warn("Auth event log retention failed in {}", directory, exception);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        Segment segment = current;
+        current = null;
+        if (segment != null) {
+            segment.buffer.force();
+        }
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static long sequence(Path segment) {
+        Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    private synchronized Segment roll(Segment full) {
+        if (current != full) {
+            // Another writer already rolled, or the log was closed.
+            return current;
+        }
+        try {
+            Segment next = openSegment(System.currentTimeMillis());
+            current = next;
+            rollFailing = false;
+            return next;
+        } catch (IOException exception) {
+            if (!rollFailing) {
+                rollFailing = true;
+                log.error("Cannot open a new auth event log segment in {}; dropping events", directory, exception);
+            }
+            return null;
+        }
+    }
+
+    private Segment openSegment(long createdAtMillis) throws IOException {
+        Path file = directory.resolve("auth-events-%020d.log".formatted(++lastSequence));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed.
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        buffer.order(ORDER);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, createdAtMillis);
+        return new Segment(file, buffer, segmentSize, createdAtMillis);
+    }
+
+    private void applyRetention() throws IOException {
+        List<Path> files = segments(directory);
+        Segment active = current;
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        long totalBytes = 0;
+        for (Path file : files) {
+            totalBytes += Files.size(file);
+        }
+        // Oldest first; a segment is past retention once the one after it was opened before the cutoff.
+        for (int i = 0; i < files.size() - 1; i++) {
+            Path file = files.get(i);
+            if (active != null && file.equals(active.file)) {
+                break;
+            }
+            boolean expired = AuthEventLogReader.createdAtMillis(files.get(i + 1)) < cutoff;
+            if (!expired && totalBytes <= maxTotalBytes) {
+                break;
+            }
+            long size = Files.size(file);
+            Files.deleteIfExists(file);
+            totalBytes -= size;
+            log.info("Deleted auth event log segment {}", file.getFileName());
+        }
+    }
+
+    private static boolean isAscii(String value, int length) {
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] utf8(String email) {
+        byte[] bytes = email.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_EMAIL) {
+            return bytes;
+        }
+        int end = MAX_EMAIL;
+        while ((bytes[end] & 0xC0) == 0x80) {
+            // Do not cut a multi-byte character in half.
+            end--;
+        }
+        return Arrays.copyOf(bytes, end);
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private final long createdAtMillis;
+        private final AtomicInteger position = new AtomicInteger(SEGMENT_HEADER);
+
+        private Segment(Path file, MappedByteBuffer buffer, int capacity, long createdAtMillis) {
+            this.file = file;
+            this.buffer = buffer;
+            this.capacity = capacity;
+            this.createdAtMillis = createdAtMillis;
+        }
+
+        /** @return the offset of the reserved space, or {@code -1} if the segment is full */
+        private int reserve(int size) {
+            int start = position.getAndAdd(size);
+            return start >= 0 && start <= capacity - size ? start : -1;
+        }
+
+        private boolean hasRecords() {
+            return position.get() > SEGMENT_HEADER;
+        }
+    }
+}
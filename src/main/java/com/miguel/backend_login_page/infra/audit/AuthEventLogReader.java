@@ -0,0 +1,206 @@
+package com.miguel.backend_login_page.infra.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads segments written by {@link AuthEventLog}, oldest first.
+ * <p>
+ * Also a command-line tool. From the application jar:
+ *
+ * <pre>
+ * java -cp app.jar -Dloader.main=com.miguel.backend_login_page.infra.audit.AuthEventLogReader \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     --dir=auth-events --email=john@example.com --from=2025-01-01T00:00:00Z --to=2025-01-02T00:00:00Z
+ * </pre>
+ *
+ * Every option is optional except {@code --dir}. {@code --type} takes an {@link AuthEventType}
+ * name. Matching events are printed one per line, tab-separated.
+ */
+public final class AuthEventLogReader {
+
+    /** Events can land in a segment shortly after the next one was opened. */
+    private static final long SEGMENT_OVERLAP_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    public record Event(Instant timestamp, AuthEventType type, String email, String remoteAddress) { }
+
+    /** Criteria for {@link #read}; {@code null} fields match everything. */
+    public record Filter(String email, Instant from, Instant to, AuthEventType type) {
+
+        public static final Filter ALL = new Filter(null, null, null, null);
+
+        boolean matches(long epochMillis) {
+            return (from == null || epochMillis >= from.toEpochMilli()) && (to == null || epochMillis < to.toEpochMilli());
+        }
+    }
+
+    private AuthEventLogReader() {
+    }
+
+    /** @return the number of events passed to {@code consumer} */
+    public static long read(Path directory, Filter filter, Consumer<Event> consumer) throws IOException {
+        List<Path> segments = AuthEventLog.segments(directory);
+        long matched = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            // Skip segments that cannot overlap the time range without mapping them.
+            if (filter.to() != null && createdAtMillis(segment) >= filter.to().toEpochMilli()) {
+                break;
+            }
+            if (filter.from() != null && i + 1 < segments.size()
+                    && createdAtMillis(segments.get(i + 1)) + SEGMENT_OVERLAP_MILLIS < filter.from().toEpochMilli()) {
+                continue;
+            }
+            matched += readSegment(segment, filter, consumer);
+        }
+        return matched;
+    }
+
+    static long createdAtMillis(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(AuthEventLog.SEGMENT_HEADER).order(AuthEventLog.ORDER);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete.
+            }
+            return header.getInt(0) == AuthEventLog.MAGIC ? header.getLong(8) : Long.MAX_VALUE;
+        }
+    }
+
+    private static long readSegment(Path segment, Filter filter, Consumer<Event> consumer) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(AuthEventLog.ORDER);
+        if (buffer.limit() < AuthEventLog.SEGMENT_HEADER || buffer.getInt(0) != AuthEventLog.MAGIC
+                || buffer.getInt(4) != AuthEventLog.VERSION) {
+            return 0;
+        }
+
+        byte[] emailFilter = filter.email() == null ? null : filter.email().getBytes(StandardCharsets.UTF_8);
+        long matched = 0;
+        int offset = AuthEventLog.SEGMENT_HEADER;
+        while (offset <= buffer.limit() - AuthEventLog.RECORD_HEADER) {
+            int length = (int) AuthEventLog.INT.getAcquire(buffer, offset);
+            if (length == 0) {
+                offset = nextRecord(buffer, offset);
+                continue;
+            }
+            if (!isRecordLength(Math.abs(length)) || offset + Math.abs(length) > buffer.limit()) {
+                break;
+            }
+            if (length < 0) {
+                // Reserved but never finished, typically by a writer that crashed.
+                offset -= length;
+                continue;
+            }
+            AuthEventType type = AuthEventType.of(buffer.get(offset + 4));
+            int addressLength = buffer.get(offset + 5) & 0xff;
+            int emailLength = buffer.getShort(offset + 6) & 0xffff;
+            long epochMillis = buffer.getLong(offset + 8);
+            int emailOffset = offset + AuthEventLog.RECORD_HEADER + addressLength;
+
+            if (filter.matches(epochMillis)
+                    && (filter.type() == null || filter.type() == type)
+                    && (emailFilter == null || emailEquals(buffer, emailOffset, emailLength, emailFilter))) {
+                consumer.accept(new Event(Instant.ofEpochMilli(epochMillis), type,
+                        emailLength == 0 ? null : string(buffer, emailOffset, emailLength),
+                        addressLength == 0 ? null : string(buffer, offset + AuthEventLog.RECORD_HEADER, addressLength)));
+                matched++;
+            }
+            offset += length;
+        }
+        return matched;
+    }
+
+    /**
+     * Steps over unwritten space to the next record: a writer that crashed right after
+     * reserving leaves its whole record zero, and records after it can still be complete.
+     *
+     * @return the offset of the next non-zero length, or the limit if there is none
+     */
+    private static int nextRecord(ByteBuffer buffer, int offset) {
+        for (offset += 8; offset <= buffer.limit() - AuthEventLog.RECORD_HEADER; offset += 8) {
+            if ((int) AuthEventLog.INT.getAcquire(buffer, offset) != 0) {
+                return offset;
+            }
+        }
+        return buffer.limit();
+    }
+
+    private static boolean isRecordLength(int length) {
+        return length >= AuthEventLog.RECORD_HEADER && (length & 7) == 0
+                && length <= AuthEventLog.align(AuthEventLog.RECORD_HEADER + AuthEventLog.MAX_ADDRESS + AuthEventLog.MAX_EMAIL);
+    }
+
+    /** ASCII case-insensitive, since email domains are. */
+    private static boolean emailEquals(ByteBuffer buffer, int offset, int length, byte[] expected) {
+        if (length != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            byte actual = buffer.get(offset + i);
+            if (actual != expected[i] && lower(actual) != lower(expected[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte lower(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static String string(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = null;
+        String email = null;
+        Instant from = null;
+        Instant to = null;
+        AuthEventType type = null;
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg : arg.substring(0, equals);
+            String value = equals < 0 ? "" : arg.substring(equals + 1);
+            switch (name) {
+                case "--dir" -> directory = Path.of(value);
+                case "--email" -> email = value;
+                case "--from" -> from = Instant.parse(value);
+                case "--to" -> to = Instant.parse(value);
+                case "--type" -> type = AuthEventType.valueOf(value);
+                default -> {
+                    System.err.println("Unknown option " + arg);
+                    System.err.println("Usage: --dir=PATH [--email=EMAIL] [--from=INSTANT] [--to=INSTANT] [--type=TYPE]");
+                    System.exit(2);
+                }
+            }
+        }
+        if (directory == null) {
+            System.err.println("--dir is required");
+            System.exit(2);
+        }
+
+        PrintStream out = System.out;
+        long matched = read(directory, new Filter(email, from, to, type), event -> out.println(
+                event.timestamp() + "\t" + event.type() + "\t"
+                        + (event.email() == null ? "-" : event.email()) + "\t"
+                        + (event.remoteAddress() == null ? "-" : event.remoteAddress())));
+        out.flush();
+        System.err.println(matched + " events");
+    }
+}
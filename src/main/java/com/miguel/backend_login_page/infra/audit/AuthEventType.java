@@ -0,0 +1,30 @@
+package com.miguel.backend_login_page.infra.audit;
+
+/** Kinds of {@link AuthEventLog} records. Codes are stored on disk, so never renumber them. */
+public enum AuthEventType {
+    LOGIN_SUCCESS(1),
+    LOGIN_UNKNOWN_EMAIL(2),
+    LOGIN_BAD_PASSWORD(3),
+    REGISTER(4),
+    REGISTER_DUPLICATE(5),
+    INVALID_TOKEN(6),
+    REVOKED_TOKEN(7);
+
+    private static final AuthEventType[] BY_CODE = new AuthEventType[8];
+
+    static {
+        for (AuthEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    final byte code;
+
+    AuthEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    static AuthEventType of(byte code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
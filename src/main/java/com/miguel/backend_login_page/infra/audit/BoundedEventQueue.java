@@ -0,0 +1,91 @@
+package com.miguel.backend_login_page.infra.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring for many producers and a single consumer, without locks.
+ * <p>
+ * Each slot carries a sequence number. A producer claims a position with one CAS on the tail
+ * and publishes its element by advancing the slot's sequence; the consumer reads a slot only
+ * once that sequence says it is full and hands the slot back by advancing it one lap. A full
+ * ring makes {@link #offer} return {@code false} instead of blocking the caller.
+ */
+final class BoundedEventQueue<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    /** Written only by the consumer; volatile so that {@link #size()} is usable from anywhere. */
+    private volatile long head;
+
+    /** @param capacity rounded up to a power of two */
+    BoundedEventQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        size = size < capacity ? size << 1 : size;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** Safe from any thread. @return {@code false} if the queue is full */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long gap = sequences.get(index) - position;
+            if (gap == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (gap < 0) {
+                // The slot still holds the element from one lap ago.
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /** Consumer thread only. Moves up to {@code max} elements into {@code target}. */
+    int drainTo(List<? super E> target, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                // Empty, or a producer has claimed the slot but not yet published it.
+                break;
+            }
+            target.add(elements.get(index));
+            elements.lazySet(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /** Approximate while producers are active. */
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
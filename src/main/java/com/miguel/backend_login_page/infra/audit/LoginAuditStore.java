@@ -0,0 +1,96 @@
+package com.miguel.backend_login_page.infra.audit;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.miguel.backend_login_page.domain.audit.LoginAudit.Outcome;
+
+/**
+ * Writes audit batches to {@code login_audit} and {@code user_last_login} with plain JDBC
+ * batches, in one transaction per batch.
+ * <p>
+ * Successful logins are folded to one timestamp per user before touching
+ * {@code user_last_login}, which is updated first and only inserted into for users that have
+ * no row yet. The update keeps the later of the stored and the new time, so batches from
+ * several nodes can arrive in any order.
+ */
+@Component
+public class LoginAuditStore implements LoginAuditor.Sink {
+
+    private static final String INSERT_EVENT =
+            "insert into login_audit (occurred_at, email, user_id, outcome, remote_address) values (?, ?, ?, ?, ?)";
+    private static final String UPDATE_LAST_LOGIN =
+            "update user_last_login set last_login_at = greatest(last_login_at, ?) where user_id = ?";
+    private static final String INSERT_LAST_LOGIN =
+            "insert into user_last_login (user_id, last_login_at) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LoginAuditStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void write(List<LoginAuditor.Event> events) {
+        Map<String, Long> lastLogins = new HashMap<>();
+        for (LoginAuditor.Event event : events) {
+            if (event.outcome() == Outcome.SUCCESS && event.userId() != null) {
+                lastLogins.merge(event.userId(), event.occurredAtMillis(), Math::max);
+            }
+        }
+        List<Map.Entry<String, Long>> users = new ArrayList<>(lastLogins.entrySet());
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeBatch(events, users));
+        } catch (DuplicateKeyException raced) {
+            // Another node inserted a first last-login row for one of these users; it is there now.
+            transactionTemplate.executeWithoutResult(status -> writeBatch(events, users));
+        }
+    }
+
+    private void writeBatch(List<LoginAuditor.Event> events, List<Map.Entry<String, Long>> users) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (statement, event) -> {
+            statement.setObject(1, timestamp(event.occurredAtMillis()), Types.TIMESTAMP_WITH_TIMEZONE);
+            statement.setString(2, event.email());
+            statement.setString(3, event.userId());
+            statement.setString(4, event.outcome().name());
+            statement.setString(5, event.remoteAddress());
+        });
+        if (users.isEmpty()) {
+            return;
+        }
+
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, users, users.size(), (statement, user) -> {
+            statement.setObject(1, timestamp(user.getValue()), Types.TIMESTAMP_WITH_TIMEZONE);
+            statement.setString(2, user.getKey());
+        });
+        List<Map.Entry<String, Long>> firstLogins = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            if (updated[0][i] == 0) {
+                firstLogins.add(users.get(i));
+            }
+        }
+        if (!firstLogins.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_LAST_LOGIN, firstLogins, firstLogins.size(), (statement, user) -> {
+                statement.setString(1, user.getKey());
+                statement.setObject(2, timestamp(user.getValue()), Types.TIMESTAMP_WITH_TIMEZONE);
+            });
+        }
+    }
+
+    private static OffsetDateTime timestamp(long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,162 @@
+package com.miguel.backend_login_page.infra.audit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.miguel.backend_login_page.domain.audit.LoginAudit.Outcome;
+
+/**
+ * Write-behind audit trail for login attempts.
+ * <p>
+ * {@link #record} only offers an event to a bounded lock-free queue, so a login never waits
+ * on the database. A single writer thread drains the queue and hands events to the
+ * {@link Sink} in batches, as soon as {@code batchSize} events are waiting or once the oldest
+ * waiting event is {@code flushInterval} old. When the queue is full, the event is dropped and
+ * counted rather than slowing the login down. On shutdown the writer drains what is left.
+ */
+@Component
+public class LoginAuditor implements DisposableBean {
+
+    /** Receives batches on the writer thread. */
+    @FunctionalInterface
+    public interface Sink {
+        void write(List<Event> events);
+    }
+
+    public record Event(long occurredAtMillis, String email, String userId, Outcome outcome, String remoteAddress) { }
+
+    private static final Logger log = LoggerFactory.getLogger(LoginAuditor.class);
+
+    private final Sink sink;
+    private final BoundedEventQueue<Event> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Duration shutdownTimeout;
+    private final Thread writer;
+
+    private final LongAdder droppedFull = new LongAdder();
+    private final AtomicLong droppedFailed = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile boolean parked;
+    /** Events the writer already holds in its batch while parked. */
+    private volatile int pending;
+
+    public LoginAuditor(
+            Sink sink,
+            @Value("${api.audit.login.enabled:true}") boolean enabled,
+            @Value("${api.audit.login.queue-capacity:65536}") int queueCapacity,
+            @Value("${api.audit.login.batch-size:500}") int batchSize,
+            @Value("${api.audit.login.flush-interval:1s}") Duration flushInterval,
+            @Value("${api.audit.login.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.sink = sink;
+        this.queue = new BoundedEventQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.shutdownTimeout = shutdownTimeout;
+        if (enabled) {
+            this.writer = new Thread(this::drainLoop, "login-audit-writer");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    public void record(String email, String userId, Outcome outcome, String remoteAddress) {
+        if (writer == null) {
+            return;
+        }
+        if (!queue.offer(new Event(System.currentTimeMillis(), email, userId, outcome, remoteAddress))) {
+            droppedFull.increment();
+            return;
+        }
+        // Unparking takes a lock inside the JVM, so only do it when a full batch is waiting.
+        if (parked && queue.size() + pending >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /** Events refused because the queue was full. */
+    public long getDroppedQueueFullCount() {
+        return droppedFull.sum();
+    }
+
+    /** Events lost because the sink failed to write their batch. */
+    public long getDroppedWriteFailedCount() {
+        return droppedFailed.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()) {
+            log.warn("Login audit writer did not drain within {}; {} events left unwritten", shutdownTimeout, queue.size());
+        }
+    }
+
+    private void drainLoop() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (true) {
+            boolean stopping = !running;
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                if (stopping) {
+                    return;
+                }
+                park(flushIntervalMillis, 0);
+                continue;
+            }
+            long waited = System.currentTimeMillis() - batch.get(0).occurredAtMillis();
+            if (stopping || batch.size() >= batchSize || waited >= flushIntervalMillis) {
+                flush(batch);
+                batch.clear();
+            } else {
+                park(flushIntervalMillis - waited, batch.size());
+            }
+        }
+    }
+
+    private void park(long millis, int held) {
+        pending = held;
+        parked = true;
+        if (queue.size() + held < batchSize && running) {
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        parked = false;
+    }
+
+    private void flush(List<Event> batch) {
+        try {
+            sink.write(batch);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException exception) {
+            droppedFailed.addAndGet(batch.size());
+            log.warn("Dropped {} login audit events after a failed write", batch.size(), exception);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.miguel.backend_login_page.infra.exception;
+
+public class BatchTooLargeException extends DomainException {
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.miguel.backend_login_page.infra.exception;
+
+/**
+ * Base for the exceptions that end a request with a known error response.
+ * <p>
+ * They are expected outcomes, thrown once per failed login or refused request, and
+ * {@link GlobalExceptionHandler} never logs them, so filling in a stack trace would be pure
+ * cost. Subclasses are created without one and without suppressed-exception tracking. The
+ * cause, when there is one, keeps its own stack trace.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected DomainException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
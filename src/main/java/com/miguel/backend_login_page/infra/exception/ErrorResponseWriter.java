@@ -0,0 +1,102 @@
+package com.miguel.backend_login_page.infra.exception;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes error bodies with the shape of {@code ErrorResponseDTO} without going through
+ * Jackson.
+ * <p>
+ * Everything up to the timestamp is encoded once per error code and reused. The timestamp
+ * comes from a clock cached at millisecond resolution, so all failures within the same
+ * millisecond share one formatted value. It is rendered like Jackson renders a
+ * {@code LocalDateTime} in the system zone, only without sub-millisecond digits. A message that
+ * differs from the cached one for its code is encoded on the spot and not cached.
+ */
+@Component
+public class ErrorResponseWriter {
+
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<>();
+    private final ZoneId zone = ZoneId.systemDefault();
+    private volatile Stamp stamp = new Stamp(Long.MIN_VALUE, new byte[0]);
+
+    public void write(HttpServletResponse response, HttpStatus status, String error, String message) throws IOException {
+        Template template = template(status, error, message);
+        byte[] timestamp = timestamp();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(template.prefix.length + timestamp.length + SUFFIX.length);
+        write(response.getOutputStream(), template, timestamp);
+    }
+
+    /** The body alone, for callers that do not write to a servlet response. */
+    public void writeBody(OutputStream out, HttpStatus status, String error, String message) throws IOException {
+        write(out, template(status, error, message), timestamp());
+    }
+
+    private static void write(OutputStream out, Template template, byte[] timestamp) throws IOException {
+        out.write(template.prefix);
+        out.write(timestamp);
+        out.write(SUFFIX);
+    }
+
+    private Template template(HttpStatus status, String error, String message) {
+        Template template = templates.get(error);
+        if (template != null && template.matches(status, message)) {
+            return template;
+        }
+        Template created = new Template(status, message, encode(status, error, message));
+        if (template == null) {
+            templates.putIfAbsent(error, created);
+        }
+        return created;
+    }
+
+    private byte[] timestamp() {
+        long now = System.currentTimeMillis();
+        Stamp current = stamp;
+        if (current.millis != now) {
+            String formatted = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(now), zone));
+            current = new Stamp(now, formatted.getBytes(StandardCharsets.US_ASCII));
+            stamp = current;
+        }
+        return current.bytes;
+    }
+
+    private static byte[] encode(HttpStatus status, String error, String message) {
+        JsonStringEncoder json = JsonStringEncoder.getInstance();
+        String quotedMessage = message == null ? "null" : "\"" + new String(json.quoteAsString(message)) + "\"";
+        String prefix = "{\"message\":" + quotedMessage
+                + ",\"error\":\"" + new String(json.quoteAsString(error))
+                + "\",\"status\":" + status.value()
+                + ",\"timestamp\":\"";
+        return prefix.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Template(HttpStatus status, String message, byte[] prefix) {
+
+        boolean matches(HttpStatus status, String message) {
+            return this.status == status && (this.message == message || this.message != null && this.message.equals(message));
+        }
+    }
+
+    private record Stamp(long millis, byte[] bytes) { }
+}
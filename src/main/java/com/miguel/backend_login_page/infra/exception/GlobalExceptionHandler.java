@@ -1,69 +1,66 @@
 package com.miguel.backend_login_page.infra.exception;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import com.miguel.backend_login_page.dto.ErrorResponseDTO;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
 
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps exceptions to {@code ErrorResponseDTO}-shaped bodies. Bodies are written straight to
+ * the response by {@link ErrorResponseWriter}, because failed logins are the bulk of the
+ * traffic during an attack and do not need Jackson or a fresh {@code LocalDateTime}.
+ */
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+    private final AuthMetrics metrics;
+    private final ErrorResponseWriter errors;
 
     @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<ErrorResponseDTO> handleUserNotFoundException(UserNotFoundException ex) {
-        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
-            ex.getMessage(),
-            "USER_NOT_FOUND",
-            HttpStatus.NOT_FOUND.value(),
-            LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    public void handleUserNotFoundException(UserNotFoundException ex, HttpServletResponse response) throws IOException {
+        write(response, HttpStatus.NOT_FOUND, "USER_NOT_FOUND", ex.getMessage());
     }
 
     @ExceptionHandler(UserAlreadyExistsException.class)
-    public ResponseEntity<ErrorResponseDTO> handleUserAlreadyExistsException(UserAlreadyExistsException ex) {
-        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
-            ex.getMessage(),
-            "USER_ALREADY_EXISTS",
-            HttpStatus.CONFLICT.value(),
-            LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    public void handleUserAlreadyExistsException(UserAlreadyExistsException ex, HttpServletResponse response) throws IOException {
+        write(response, HttpStatus.CONFLICT, "USER_ALREADY_EXISTS", ex.getMessage());
     }
 
     @ExceptionHandler(InvalidCredentialsException.class)
-    public ResponseEntity<ErrorResponseDTO> handleInvalidCredentialsException(InvalidCredentialsException ex) {
-        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
-            ex.getMessage(),
-            "INVALID_CREDENTIALS",
-            HttpStatus.UNAUTHORIZED.value(),
-            LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+    public void handleInvalidCredentialsException(InvalidCredentialsException ex, HttpServletResponse response) throws IOException {
+        write(response, HttpStatus.UNAUTHORIZED, "INVALID_CREDENTIALS", ex.getMessage());
     }
 
     @ExceptionHandler(InvalidTokenException.class)
-    public ResponseEntity<ErrorResponseDTO> handleInvalidTokenException(InvalidTokenException ex) {
-        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
-            ex.getMessage(),
-            "INVALID_TOKEN",
-            HttpStatus.UNAUTHORIZED.value(),
-            LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+    public void handleInvalidTokenException(InvalidTokenException ex, HttpServletResponse response) throws IOException {
+        write(response, HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", ex.getMessage());
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public void handleBatchTooLargeException(BatchTooLargeException ex, HttpServletResponse response) throws IOException {
+        write(response, HttpStatus.PAYLOAD_TOO_LARGE, "BATCH_TOO_LARGE", ex.getMessage());
+    }
+
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public void handleHashingCapacityExceededException(HashingCapacityExceededException ex, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        write(response, HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_BUSY", ex.getMessage());
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponseDTO> handleGeneralException(Exception ex) {
-        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
-            "Internal server error",
-            "INTERNAL_ERROR",
-            HttpStatus.INTERNAL_SERVER_ERROR.value(),
-            LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    public void handleGeneralException(Exception ex, HttpServletResponse response) throws IOException {
+        write(response, HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR", "Internal server error");
+    }
+
+    private void write(HttpServletResponse response, HttpStatus status, String error, String message) throws IOException {
+        metrics.countError(error);
+        errors.write(response, status, error, message);
     }
 }
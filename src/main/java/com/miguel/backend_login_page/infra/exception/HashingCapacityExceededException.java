@@ -0,0 +1,19 @@
+package com.miguel.backend_login_page.infra.exception;
+
+public class HashingCapacityExceededException extends DomainException {
+    private final long retryAfterSeconds;
+
+    public HashingCapacityExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HashingCapacityExceededException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
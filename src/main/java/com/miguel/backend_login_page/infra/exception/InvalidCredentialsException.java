@@ -1,6 +1,6 @@
 package com.miguel.backend_login_page.infra.exception;
 
-public class InvalidCredentialsException extends RuntimeException {
+public class InvalidCredentialsException extends DomainException {
     public InvalidCredentialsException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.miguel.backend_login_page.infra.exception;
 
-public class InvalidTokenException extends RuntimeException {
+public class InvalidTokenException extends DomainException {
     public InvalidTokenException(String message) {
         super(message);
     }
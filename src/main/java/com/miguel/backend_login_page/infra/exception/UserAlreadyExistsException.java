@@ -1,6 +1,6 @@
 package com.miguel.backend_login_page.infra.exception;
 
-public class UserAlreadyExistsException extends RuntimeException {
+public class UserAlreadyExistsException extends DomainException {
     public UserAlreadyExistsException(String message) {
         super(message);
     }
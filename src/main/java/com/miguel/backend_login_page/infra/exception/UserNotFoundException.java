@@ -1,6 +1,6 @@
 package com.miguel.backend_login_page.infra.exception;
 
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends DomainException {
     public UserNotFoundException(String message) {
         super(message);
     }
@@ -0,0 +1,85 @@
+package com.miguel.backend_login_page.infra.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-stage timers for the authentication paths, published as {@code auth.stage} with
+ * {@code operation} and {@code stage} tags, plus {@code auth.errors} counters per error code.
+ */
+@Component
+public class AuthMetrics {
+
+    public static final String STAGE_TIMER = "auth.stage";
+    public static final String ERROR_COUNTER = "auth.errors";
+
+    public enum Stage {
+        LOGIN_USER_LOOKUP("login", "user_lookup"),
+        LOGIN_PASSWORD_MATCH("login", "password_match"),
+        LOGIN_REHASH("login", "rehash"),
+        REGISTER_PASSWORD_HASH("register", "password_hash"),
+        REGISTER_INSERT("register", "insert"),
+        TOKEN_SIGN("token", "sign"),
+        TOKEN_VERIFY("token", "verify"),
+        FILTER_USER_LOOKUP("filter", "user_lookup"),
+        RESPONSE_JSON_WRITE("response", "json_write");
+
+        private final String operation;
+        private final String stage;
+
+        Stage(String operation, String stage) {
+            this.operation = operation;
+            this.stage = stage;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder(STAGE_TIMER)
+                    .description("Latency of one stage of an authentication request")
+                    .tag("operation", stage.operation)
+                    .tag("stage", stage.stage)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    /** Metrics backed by a private registry, for code constructed outside of Spring. */
+    public static AuthMetrics noop() {
+        return new AuthMetrics(new SimpleMeterRegistry());
+    }
+
+    public <T> T record(Stage stage, Supplier<T> work) {
+        return timers.get(stage).record(work);
+    }
+
+    public void record(Stage stage, Runnable work) {
+        timers.get(stage).record(work);
+    }
+
+    public Timer timer(Stage stage) {
+        return timers.get(stage);
+    }
+
+    public void countError(String code) {
+        errorCounters.computeIfAbsent(code, c -> Counter.builder(ERROR_COUNTER)
+                .description("Error responses by GlobalExceptionHandler error code")
+                .tag("code", c)
+                .register(registry))
+                .increment();
+    }
+}
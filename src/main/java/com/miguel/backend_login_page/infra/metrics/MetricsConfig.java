@@ -0,0 +1,164 @@
+package com.miguel.backend_login_page.infra.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import javax.cache.CacheManager;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.miguel.backend_login_page.infra.audit.AuthEventLog;
+import com.miguel.backend_login_page.infra.audit.LoginAuditor;
+import com.miguel.backend_login_page.infra.persistence.ReplicaRoutingDataSource;
+import com.miguel.backend_login_page.infra.persistence.UserCacheConfig;
+import com.miguel.backend_login_page.infra.security.KnownEmailFilter;
+import com.miguel.backend_login_page.infra.security.PasswordHashingExecutor;
+import com.miguel.backend_login_page.infra.security.PrincipalCache;
+import com.miguel.backend_login_page.infra.security.RateLimitFilter;
+import com.miguel.backend_login_page.infra.security.RateLimiter;
+import com.miguel.backend_login_page.infra.security.TokenIntrospector;
+import com.miguel.backend_login_page.infra.security.TokenRevocationStore;
+import com.miguel.backend_login_page.infra.security.TokenService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper, AuthMetrics metrics) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, metrics);
+    }
+
+    @Bean
+    public MeterBinder authComponentMetrics(
+            PrincipalCache principalCache,
+            TokenService tokenService,
+            PasswordHashingExecutor hashingExecutor,
+            KnownEmailFilter knownEmails,
+            RateLimitFilter rateLimitFilter,
+            TokenRevocationStore revocations,
+            CacheManager userCacheManager,
+            LoginAuditor audit,
+            AuthEventLog eventLog,
+            TokenIntrospector introspector,
+            ObjectProvider<ReplicaRoutingDataSource> replicas) {
+        return registry -> {
+            bindCache(registry, "principal", principalCache, PrincipalCache::stats, PrincipalCache::size);
+            bindCache(registry, "verified_token", tokenService, TokenService::verifiedCacheStats, TokenService::verifiedCacheSize);
+            bindCache(registry, "user", UserCacheConfig.region(userCacheManager, UserCacheConfig.USER_REGION),
+                    Cache::stats, Cache::estimatedSize);
+            bindCache(registry, "user_natural_id", UserCacheConfig.region(userCacheManager, UserCacheConfig.USER_NATURAL_ID_REGION),
+                    Cache::stats, Cache::estimatedSize);
+
+            Gauge.builder("auth.hashing.pool.size", hashingExecutor, PasswordHashingExecutor::getPoolSize)
+                    .register(registry);
+            Gauge.builder("auth.hashing.queue.depth", hashingExecutor, PasswordHashingExecutor::getQueueDepth)
+                    .description("Password hashes waiting for a hashing thread")
+                    .register(registry);
+            Gauge.builder("auth.hashing.active", hashingExecutor, PasswordHashingExecutor::getActiveCount)
+                    .register(registry);
+            FunctionCounter.builder("auth.hashing.rejected", hashingExecutor, PasswordHashingExecutor::getRejectedCount)
+                    .description("Hashes refused with 503 because the queue was full")
+                    .register(registry);
+            FunctionTimer.builder("auth.hashing.queue.wait", hashingExecutor,
+                            PasswordHashingExecutor::getCompletedCount,
+                            PasswordHashingExecutor::getTotalWaitNanos,
+                            TimeUnit.NANOSECONDS)
+                    .register(registry);
+            Gauge.builder("auth.hashing.queue.wait.max", hashingExecutor, e -> e.getMaxWaitNanos() / 1_000_000_000.0)
+                    .baseUnit("seconds")
+                    .register(registry);
+
+            FunctionCounter.builder("auth.email_filter.skipped", knownEmails, KnownEmailFilter::getSkippedLookups)
+                    .description("Logins answered without a database lookup")
+                    .register(registry);
+            Gauge.builder("auth.email_filter.false_positive_rate", knownEmails, KnownEmailFilter::getExpectedFalsePositiveRate)
+                    .register(registry);
+
+            bindRateLimiter(registry, "ip", rateLimitFilter.getIpLimiter());
+            bindRateLimiter(registry, "email", rateLimitFilter.getEmailLimiter());
+
+            Gauge.builder("auth.revoked_tokens", revocations, TokenRevocationStore::size)
+                    .description("Revoked token ids held until their tokens expire")
+                    .register(registry);
+
+            Gauge.builder("auth.audit.queue.depth", audit, LoginAuditor::getQueueDepth)
+                    .description("Login audit events waiting for the writer")
+                    .register(registry);
+            FunctionCounter.builder("auth.audit.written", audit, LoginAuditor::getWrittenCount)
+                    .register(registry);
+            FunctionCounter.builder("auth.audit.dropped", audit, LoginAuditor::getDroppedQueueFullCount)
+                    .description("Login audit events lost instead of being written")
+                    .tag("reason", "queue_full")
+                    .register(registry);
+            FunctionCounter.builder("auth.audit.dropped", audit, LoginAuditor::getDroppedWriteFailedCount)
+                    .description("Login audit events lost instead of being written")
+                    .tag("reason", "write_failed")
+                    .register(registry);
+
+            FunctionCounter.builder("auth.event_log.appended", eventLog, AuthEventLog::getAppendedCount)
+                    .register(registry);
+            FunctionCounter.builder("auth.event_log.dropped", eventLog, AuthEventLog::getDroppedCount)
+                    .description("Auth events lost because no log segment could be opened")
+                    .register(registry);
+
+            FunctionCounter.builder("auth.introspection.tokens", introspector, TokenIntrospector::getActiveCount)
+                    .description("Tokens checked at /auth/introspect")
+                    .tag("result", "active")
+                    .register(registry);
+            FunctionCounter.builder("auth.introspection.tokens", introspector, TokenIntrospector::getInactiveCount)
+                    .description("Tokens checked at /auth/introspect")
+                    .tag("result", "inactive")
+                    .register(registry);
+
+            replicas.ifAvailable(routing -> {
+                Gauge.builder("db.replicas.healthy", routing, ReplicaRoutingDataSource::getHealthyCount)
+                        .description("Replicas currently taking reads")
+                        .register(registry);
+                FunctionCounter.builder("db.replicas.connections", routing, ReplicaRoutingDataSource::getReplicaConnections)
+                        .description("Read-only connections served by a replica")
+                        .register(registry);
+                FunctionCounter.builder("db.replicas.primary_fallbacks", routing, ReplicaRoutingDataSource::getPrimaryFallbacks)
+                        .description("Read-only connections served by the primary because no replica was healthy")
+                        .register(registry);
+            });
+        };
+    }
+
+    private static void bindRateLimiter(MeterRegistry registry, String key, RateLimiter limiter) {
+        FunctionCounter.builder("auth.rate_limit.rejected", limiter, RateLimiter::rejectedCount)
+                .description("Requests refused with 429")
+                .tag("key", key)
+                .register(registry);
+        Gauge.builder("auth.rate_limit.buckets", limiter, RateLimiter::size)
+                .tag("key", key)
+                .register(registry);
+    }
+
+    private static <T> void bindCache(MeterRegistry registry, String name, T owner,
+            Function<T, CacheStats> stats, ToDoubleFunction<T> size) {
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).hitCount())
+                .tag("cache", name).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).missCount())
+                .tag("cache", name).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", owner, o -> stats.apply(o).evictionCount())
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.size", owner, size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.miguel.backend_login_page.infra.metrics;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Jackson converter that records the time spent serializing response bodies.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Timer timer;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, AuthMetrics metrics) {
+        super(objectMapper);
+        this.timer = metrics.timer(AuthMetrics.Stage.RESPONSE_JSON_WRITE);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
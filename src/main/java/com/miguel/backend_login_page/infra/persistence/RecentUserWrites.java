@@ -0,0 +1,47 @@
+package com.miguel.backend_login_page.infra.persistence;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.miguel.backend_login_page.domain.user.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener that remembers which emails this node wrote recently. Lookups for those emails
+ * read from the primary for {@code read-your-writes-window}, so a login right after
+ * registration never races replication.
+ */
+@Component
+public class RecentUserWrites {
+
+    private final Cache<String, Boolean> emails;
+
+    public RecentUserWrites(
+            @Value("${api.datasource.replicas.read-your-writes-window:5s}") Duration window,
+            @Value("${api.datasource.replicas.read-your-writes-max-size:100000}") long maxSize) {
+        this.emails = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserWritten(User user) {
+        if (user.getEmail() != null) {
+            emails.put(user.getEmail(), Boolean.TRUE);
+        }
+    }
+
+    public boolean isRecent(String email) {
+        return emails.getIfPresent(email) != null;
+    }
+}
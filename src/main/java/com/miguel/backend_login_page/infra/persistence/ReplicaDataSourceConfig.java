@@ -0,0 +1,84 @@
+package com.miguel.backend_login_page.infra.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Primary/replica routing, active only when {@code api.datasource.replicas.urls} is set.
+ * <p>
+ * The application {@code DataSource} becomes a {@link LazyConnectionDataSourceProxy} over the
+ * primary pool. It fetches a physical connection only on first use, and by then it knows
+ * whether the connection was marked read-only. That happens for {@code @Transactional(readOnly
+ * = true)} and for the email lookups in {@code UserEmailLookupImpl}. Read-only connections come
+ * from {@link ReplicaRoutingDataSource}; everything else, including every write, goes to the
+ * primary.
+ */
+@Configuration
+@ConditionalOnExpression("!'${api.datasource.replicas.urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    /** The pool Boot would otherwise build, still configured by {@code spring.datasource.hikari.*}. */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${api.datasource.replicas.urls}") List<String> urls,
+            @Value("${api.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${api.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${api.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${api.datasource.replicas.connection-timeout:2s}") Duration connectionTimeout,
+            @Value("${api.datasource.replicas.lag-query:}") String lagQuery,
+            @Value("${api.datasource.replicas.max-lag:5s}") Duration maxLag) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            // A replica that is down at startup is excluded, not fatal.
+            config.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(config::setMetricRegistry);
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, new HikariDataSource(config)));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, lagQuery, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
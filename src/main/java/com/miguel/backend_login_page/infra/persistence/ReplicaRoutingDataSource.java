@@ -0,0 +1,175 @@
+package com.miguel.backend_login_page.infra.persistence;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Read-only connections spread round-robin over the healthy replicas.
+ * <p>
+ * A replica is excluded as soon as handing out one of its connections fails, and by the
+ * periodic {@link #checkHealth()} when it stops validating or, if a lag query is
+ * configured, falls more than {@code maxLag} behind. The health check is also what brings a
+ * replica back. When no replica is healthy, connections come from the primary, so reads
+ * degrade to the single-database setup instead of failing.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong replicaConnections = new AtomicLong();
+    private final AtomicLong primaryFallbacks = new AtomicLong();
+
+    /** A replica pool and whether it is currently taking reads. */
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+    }
+
+    /**
+     * @param lagQuery optional query returning the replica's lag in seconds, e.g.
+     *                 {@code pg_last_xact_replay_timestamp()} arithmetic on PostgreSQL;
+     *                 {@code null} or blank to only check that connections are valid
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, String lagQuery, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaConnections.incrementAndGet();
+                return connection;
+            } catch (SQLException exception) {
+                markDown(replica, exception.getMessage());
+            }
+        }
+        primaryFallbacks.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica connections use the pool credentials");
+    }
+
+    @Scheduled(fixedDelayString = "${api.datasource.replicas.health-check-interval:5s}",
+            initialDelayString = "${api.datasource.replicas.health-check-interval:5s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica);
+            if (problem == null) {
+                markUp(replica);
+            } else {
+                markDown(replica, problem);
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public int getHealthyCount() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            healthy += replica.healthy ? 1 : 0;
+        }
+        return healthy;
+    }
+
+    public long getReplicaConnections() {
+        return replicaConnections.get();
+    }
+
+    /** Read-only connections served by the primary because no replica was available. */
+    public long getPrimaryFallbacks() {
+        return primaryFallbacks.get();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /** @return why the replica should not take reads, or {@code null} if it is fine */
+    private String probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid(2)) {
+                return "connection is not valid";
+            }
+            if (lagQuery == null) {
+                return null;
+            }
+            try (Statement statement = connection.createStatement();
+                    ResultSet result = statement.executeQuery(lagQuery)) {
+                double lagSeconds = result.next() ? result.getDouble(1) : 0;
+                return lagSeconds * 1000 > maxLag.toMillis()
+                        ? "replication lag of " + lagSeconds + "s exceeds " + maxLag
+                        : null;
+            }
+        } catch (SQLException exception) {
+            return exception.getMessage();
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} excluded from reads: {}", replica.name, reason);
+        }
+    }
+
+    private void markUp(Replica replica) {
+        if (!replica.healthy) {
+            replica.healthy = true;
+            log.info("Replica {} is taking reads again", replica.name);
+        }
+    }
+}
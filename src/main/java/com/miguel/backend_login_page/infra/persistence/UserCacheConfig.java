@@ -0,0 +1,71 @@
+package com.miguel.backend_login_page.infra.persistence;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.miguel.backend_login_page.domain.user.User;
+
+/**
+ * Hibernate second-level cache for {@link User}, backed by Caffeine through JCache.
+ * <p>
+ * Two regions are configured: the entity region, holding users by id, and the natural-id
+ * region, mapping an email to an id. Together they let {@code UserRepository.findByEmail}
+ * answer without SQL. Hibernate keeps both regions up to date on every write it performs,
+ * so saves and deletes through the repository never leave a stale entry behind on this node.
+ * A write from another node or from plain SQL is seen only once the entry expires, so the
+ * default {@code ttl} stays below the principal cache's: a login sees it within one
+ * {@code ttl}, a request with an existing token within {@code ttl} plus the principal TTL.
+ */
+@Configuration
+public class UserCacheConfig {
+
+    public static final String USER_REGION = User.class.getName();
+    public static final String USER_NATURAL_ID_REGION = USER_REGION + "##NaturalId";
+
+    /**
+     * One cache manager per application context, so test contexts that run side by side
+     * never share regions.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager userCacheManager(
+            @Value("${api.user-cache.max-size:100000}") long maxSize,
+            @Value("${api.user-cache.ttl:1m}") Duration ttl) {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:backend-login-page:user-cache:" + UUID.randomUUID()),
+                        UserCacheConfig.class.getClassLoader());
+        for (String region : List.of(USER_REGION, USER_NATURAL_ID_REGION)) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuration.setNativeStatisticsEnabled(true);
+            manager.createCache(region, configuration);
+        }
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer userCacheManagerCustomizer(CacheManager userCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, userCacheManager);
+    }
+
+    /** The Caffeine cache behind a region, for its hit and miss counts. */
+    @SuppressWarnings("unchecked")
+    public static Cache<Object, Object> region(CacheManager manager, String region) {
+        return manager.getCache(region).unwrap(Cache.class);
+    }
+}
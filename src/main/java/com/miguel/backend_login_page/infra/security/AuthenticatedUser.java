@@ -0,0 +1,33 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.util.List;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.miguel.backend_login_page.domain.user.User;
+
+/**
+ * Principal placed in the security context by {@link SecurityFilter}. It carries only what
+ * the token or the user row says about the caller, never the password hash.
+ */
+public record AuthenticatedUser(String id, String email, String name, List<GrantedAuthority> authorities)
+        implements AuthenticatedPrincipal {
+
+    public static AuthenticatedUser of(String id, String email, String name, List<String> roles) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new AuthenticatedUser(id, email, name, authorities);
+    }
+
+    public static AuthenticatedUser of(User user, List<String> roles) {
+        return of(user.getId(), user.getEmail(), user.getName(), roles);
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
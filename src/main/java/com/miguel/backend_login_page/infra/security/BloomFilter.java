@@ -0,0 +1,98 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Bloom filter over strings. Bits live in an {@link AtomicLongArray}, so concurrent
+ * {@link #put(String)} and {@link #mightContain(String)} calls never block each other.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder insertions = new LongAdder();
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+    }
+
+    /**
+     * Sizes the filter for {@code expectedInsertions} elements at the given false-positive rate:
+     * {@code m = -n ln p / (ln 2)^2} bits and {@code k = m / n ln 2} hash functions.
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, Double.MIN_VALUE), 0.5);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2))));
+        if (bits > (long) Integer.MAX_VALUE * 64) {
+            throw new IllegalArgumentException("Bloom filter too large: " + bits + " bits");
+        }
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.weakCompareAndSetVolatile(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    public long insertions() {
+        return insertions.sum();
+    }
+
+    /** Estimated false-positive rate for the current number of insertions. */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions() / bitCount), hashCount);
+    }
+
+    private static long hash(String value) {
+        // FNV-1a over the UTF-8 bytes, finished with the SplitMix64 mixer for better avalanche.
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,216 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder whose work factor is either configured for the whole fleet or picked at
+ * startup to hit a target hash latency.
+ * <p>
+ * BCrypt hashes are stored in their standard unprefixed form so existing rows keep working.
+ * PBKDF2 hashes are stored as {@code {pbkdf2}iterations$salt$hash}. {@link #upgradeEncoding(String)}
+ * reports hashes of another algorithm and hashes whose cost is outside a tolerance band around
+ * this encoder's: any weaker cost for BCrypt, or more than a fifth weaker for PBKDF2, and more
+ * than twice as expensive for either. Nodes that calibrated slightly differently therefore
+ * leave each other's hashes alone instead of rewriting them on every login.
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    public enum Algorithm { BCRYPT, PBKDF2 }
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedPasswordEncoder.class);
+
+    private static final String PBKDF2_PREFIX = "{pbkdf2}";
+    private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int PBKDF2_SALT_BYTES = 16;
+    private static final int PBKDF2_HASH_BITS = 256;
+    private static final int CALIBRATION_BCRYPT_STRENGTH = 6;
+    private static final int CALIBRATION_PBKDF2_ITERATIONS = 20_000;
+    private static final int CALIBRATION_SAMPLES = 3;
+    /** Calibrated PBKDF2 counts are rounded to this, so nearby samples agree. */
+    private static final int PBKDF2_ITERATION_STEP = 50_000;
+
+    private final Algorithm algorithm;
+    private final int workFactor;
+    private final BCryptPasswordEncoder bcrypt;
+    private final SecureRandom random = new SecureRandom();
+
+    public CalibratedPasswordEncoder(Algorithm algorithm, int workFactor) {
+        this.algorithm = algorithm;
+        this.workFactor = workFactor;
+        this.bcrypt = algorithm == Algorithm.BCRYPT ? new BCryptPasswordEncoder(workFactor, random) : null;
+    }
+
+    /**
+     * Measures a cheap hash and extrapolates the work factor that lands closest to {@code target},
+     * clamped to {@code [min, max]}. BCrypt cost is a log2 factor, PBKDF2 cost is linear in iterations.
+     */
+    public static CalibratedPasswordEncoder calibrate(Algorithm algorithm, Duration target, int min, int max) {
+        int workFactor;
+        if (algorithm == Algorithm.BCRYPT) {
+            long sample = measure(new CalibratedPasswordEncoder(Algorithm.BCRYPT, CALIBRATION_BCRYPT_STRENGTH));
+            double doublings = Math.log((double) target.toNanos() / sample) / Math.log(2);
+            workFactor = CALIBRATION_BCRYPT_STRENGTH + (int) Math.round(doublings);
+        } else {
+            long sample = measure(new CalibratedPasswordEncoder(Algorithm.PBKDF2, CALIBRATION_PBKDF2_ITERATIONS));
+            double iterations = (double) CALIBRATION_PBKDF2_ITERATIONS * target.toNanos() / sample;
+            workFactor = (int) Math.min(Integer.MAX_VALUE,
+                    Math.max(1, Math.round(iterations / PBKDF2_ITERATION_STEP)) * (double) PBKDF2_ITERATION_STEP);
+        }
+        workFactor = Math.max(min, Math.min(max, workFactor));
+        log.info("Calibrated {} password hashing to work factor {} for a {} ms target",
+                algorithm.name().toLowerCase(Locale.ROOT), workFactor, target.toMillis());
+        return new CalibratedPasswordEncoder(algorithm, workFactor);
+    }
+
+    /**
+     * The encoder described by the {@code api.security.password.*} settings: the configured
+     * {@code workFactor} if it is positive, otherwise calibrated to {@code targetLatency} within
+     * the bounds of the chosen algorithm, or fixed at the lower bound when the target is zero.
+     */
+    public static CalibratedPasswordEncoder configure(String algorithm, int workFactor, Duration targetLatency,
+            int minStrength, int maxStrength, int minIterations, int maxIterations) {
+        Algorithm parsed = parseAlgorithm(algorithm);
+        boolean bcrypt = parsed == Algorithm.BCRYPT;
+        if (workFactor > 0) {
+            return new CalibratedPasswordEncoder(parsed, workFactor);
+        }
+        if (targetLatency.isZero()) {
+            return new CalibratedPasswordEncoder(parsed, bcrypt ? minStrength : minIterations);
+        }
+        return bcrypt
+                ? calibrate(parsed, targetLatency, minStrength, maxStrength)
+                : calibrate(parsed, targetLatency, minIterations, maxIterations);
+    }
+
+    public static Algorithm parseAlgorithm(String name) {
+        return Algorithm.valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getWorkFactor() {
+        return workFactor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        if (algorithm == Algorithm.BCRYPT) {
+            return bcrypt.encode(rawPassword);
+        }
+        byte[] salt = new byte[PBKDF2_SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = pbkdf2(rawPassword, salt, workFactor);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PBKDF2_PREFIX + workFactor + "$" + base64.encodeToString(salt) + "$" + base64.encodeToString(hash);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        if (isBcrypt(encodedPassword)) {
+            return BCrypt.checkpw(rawPassword.toString(), encodedPassword);
+        }
+        if (encodedPassword.startsWith(PBKDF2_PREFIX)) {
+            String[] parts = encodedPassword.substring(PBKDF2_PREFIX.length()).split("\\$");
+            if (parts.length != 3) {
+                return false;
+            }
+            try {
+                int iterations = Integer.parseInt(parts[0]);
+                byte[] salt = Base64.getDecoder().decode(parts[1]);
+                byte[] expected = Base64.getDecoder().decode(parts[2]);
+                return MessageDigest.isEqual(expected, pbkdf2(rawPassword, salt, iterations));
+            } catch (IllegalArgumentException exception) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        if (isBcrypt(encodedPassword)) {
+            if (algorithm != Algorithm.BCRYPT) {
+                return true;
+            }
+            // Each BCrypt step doubles the cost, so one step up is already the factor-two band.
+            int cost = bcryptCost(encodedPassword);
+            return cost < workFactor || cost > workFactor + 1;
+        }
+        if (encodedPassword.startsWith(PBKDF2_PREFIX)) {
+            if (algorithm != Algorithm.PBKDF2) {
+                return true;
+            }
+            int separator = encodedPassword.indexOf('$', PBKDF2_PREFIX.length());
+            try {
+                if (separator < 0) {
+                    return true;
+                }
+                long iterations = Integer.parseInt(encodedPassword.substring(PBKDF2_PREFIX.length(), separator));
+                return iterations * 5 < workFactor * 4L || iterations > workFactor * 2L;
+            } catch (NumberFormatException exception) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBcrypt(String encoded) {
+        return encoded.length() > 7 && encoded.charAt(0) == '$' && encoded.charAt(1) == '2' && encoded.charAt(6) == '$';
+    }
+
+    private static int bcryptCost(String encoded) {
+        int dollar = encoded.indexOf('$', 1);
+        try {
+            return Integer.parseInt(encoded.substring(dollar + 1, dollar + 3));
+        } catch (RuntimeException exception) {
+            return -1;
+        }
+    }
+
+    private static byte[] pbkdf2(CharSequence rawPassword, byte[] salt, int iterations) {
+        char[] chars = rawPassword.toString().toCharArray();
+        PBEKeySpec spec = new PBEKeySpec(chars, salt, iterations, PBKDF2_HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("PBKDF2 is not available", exception);
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    private static long measure(CalibratedPasswordEncoder encoder) {
+        encoder.encode("calibration-warmup");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-sample");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Math.max(1, best);
+    }
+}
@@ -0,0 +1,728 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.ECPublicKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Verifier for the compact HS256 and ES256 tokens this service issues, used on the request
+ * path in place of the general-purpose auth0 verifier.
+ * <p>
+ * The token is copied once into a pooled buffer and checked for shape (three base64url
+ * segments, bounded length) before anything is allocated. Next, the header is decoded into
+ * that buffer and scanned for {@code alg} and {@code kid}, and the signature is checked over
+ * the raw bytes. Only a correctly signed payload is parsed, in one pass that picks out the
+ * registered claims we rely on and skips the rest. Any token that fails a step is rejected
+ * with {@code null}; the only allocations on the success path are the returned token and
+ * its strings.
+ * <p>
+ * Buffers, {@code Mac} and {@code Signature} objects come from small pools sized to the CPU
+ * count rather than from thread locals, so their number does not follow the thread count
+ * when requests run on virtual threads. Buffers start at {@link #INITIAL_BUFFER_LENGTH} and
+ * grow to the longest token they have held.
+ */
+final class CompactTokenVerifier {
+
+    /** Longer than any token we issue; larger headers would be rejected by Tomcat anyway. */
+    static final int MAX_TOKEN_LENGTH = 8 * 1024;
+    /** Fits the access tokens we issue, so buffers rarely grow. */
+    static final int INITIAL_BUFFER_LENGTH = 1024;
+    /** More than can be in use at once when each CPU runs one verification. */
+    static final int POOL_SIZE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final String HS256 = "HS256";
+    private static final String ES256 = SigningKeyRing.ES256;
+    private static final int HS256_SIGNATURE_LENGTH = 32;
+    private static final int ES256_SIGNATURE_LENGTH = 64;
+
+    private static final byte[] BASE64URL = new byte[128];
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private static final Pool<Scratch> SCRATCH = new Pool<>(Scratch::new);
+
+    private final byte[] issuer;
+
+    /** Finds the key a token names; {@code kidLength < 0} means the header has no kid. */
+    @FunctionalInterface
+    interface KeyResolver {
+        Key resolve(byte[] buffer, int kidOffset, int kidLength);
+    }
+
+    CompactTokenVerifier(String issuer) {
+        this.issuer = issuer.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies {@code source[start..]} into a pooled buffer if it looks like a compact JWS: only
+     * base64url characters and exactly two dots, with no empty header or payload. The caller
+     * returns the buffer with {@link Scratch#close()}.
+     *
+     * @return the loaded buffer, or {@code null} if the token is malformed
+     */
+    static Scratch load(String source, int start) {
+        int length = source.length() - start;
+        if (length <= 0 || length > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+        Scratch scratch = SCRATCH.acquire();
+        scratch.ensureCapacity(length);
+        byte[] token = scratch.token;
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(start + i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    scratch.close();
+                    return null;
+                }
+            } else if (c >= 128 || BASE64URL[c] < 0) {
+                scratch.close();
+                return null;
+            }
+            token[i] = (byte) c;
+        }
+        if (firstDot <= 0 || secondDot <= firstDot + 1) {
+            scratch.close();
+            return null;
+        }
+        scratch.length = length;
+        scratch.firstDot = firstDot;
+        scratch.secondDot = secondDot;
+        return scratch;
+    }
+
+    /**
+     * Verifies the token held in {@code scratch} by {@link #load(String, int)}.
+     *
+     * @return the verified access token, or {@code null} if it is invalid, expired, signed
+     *         with a key we do not know, or not an access token
+     */
+    VerifiedToken verify(Scratch scratch, KeyResolver keys, long nowMillis) {
+        byte[] json = scratch.json;
+        int headerLength = decode(scratch.token, 0, scratch.firstDot, json);
+        if (headerLength < 0 || !scanHeader(scratch, headerLength)) {
+            return null;
+        }
+        Key key = keys.resolve(json, scratch.kidOffset, scratch.kidLength);
+        if (key == null || !key.algorithmMatches(json, scratch.algOffset, scratch.algLength)
+                || !key.verify(scratch)) {
+            return null;
+        }
+        int payloadLength = decode(scratch.token, scratch.firstDot + 1, scratch.secondDot, json);
+        if (payloadLength < 0) {
+            return null;
+        }
+        scratch.position = 0;
+        scratch.limit = payloadLength;
+        try {
+            return readClaims(scratch, nowMillis);
+        } catch (MalformedToken malformed) {
+            return null;
+        }
+    }
+
+    // ---------------------------------------------------------------- keys
+
+    /** A verification key together with the pooled JCA objects that use it. */
+    abstract static sealed class Key permits HmacKey, EcKey {
+        private final byte[] kid;
+        private final byte[] algorithm;
+
+        Key(String kid, String algorithm) {
+            this.kid = kid != null ? kid.getBytes(StandardCharsets.US_ASCII) : null;
+            this.algorithm = algorithm.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        static Key hmac(String secret) {
+            return new HmacKey(secret);
+        }
+
+        static Key ecdsa(String kid, ECPublicKey publicKey) {
+            return new EcKey(kid, publicKey);
+        }
+
+        boolean kidMatches(byte[] buffer, int offset, int length) {
+            if (kid == null || length < 0) {
+                return kid == null && length < 0;
+            }
+            return Arrays.equals(kid, 0, kid.length, buffer, offset, offset + length);
+        }
+
+        boolean algorithmMatches(byte[] buffer, int offset, int length) {
+            return length >= 0 && Arrays.equals(algorithm, 0, algorithm.length, buffer, offset, offset + length);
+        }
+
+        abstract boolean verify(Scratch scratch);
+    }
+
+    static final class HmacKey extends Key {
+        private final Pool<Mac> mac;
+
+        HmacKey(String secret) {
+            super(null, HS256);
+            SecretKeySpec spec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+            this.mac = new Pool<>(() -> {
+                try {
+                    Mac instance = Mac.getInstance("HmacSHA256");
+                    instance.init(spec);
+                    return instance;
+                } catch (GeneralSecurityException exception) {
+                    throw new IllegalStateException("HmacSHA256 not available", exception);
+                }
+            });
+        }
+
+        @Override
+        boolean verify(Scratch scratch) {
+            if (decode(scratch.token, scratch.secondDot + 1, scratch.length, scratch.signature) != HS256_SIGNATURE_LENGTH) {
+                return false;
+            }
+            Mac instance = mac.acquire();
+            instance.update(scratch.token, 0, scratch.secondDot);
+            try {
+                instance.doFinal(scratch.expected, 0);
+            } catch (GeneralSecurityException exception) {
+                return false;
+            }
+            mac.release(instance);
+            // Constant time, like MessageDigest.isEqual, without sizing arrays to match.
+            int difference = 0;
+            for (int i = 0; i < HS256_SIGNATURE_LENGTH; i++) {
+                difference |= scratch.expected[i] ^ scratch.signature[i];
+            }
+            return difference == 0;
+        }
+    }
+
+    static final class EcKey extends Key {
+        private final Pool<Signature> signature;
+
+        EcKey(String kid, ECPublicKey publicKey) {
+            super(kid, ES256);
+            this.signature = new Pool<>(() -> {
+                try {
+                    // JWS carries R || S rather than DER, which is what the P1363 variant takes.
+                    Signature instance = Signature.getInstance("SHA256withECDSAinP1363Format");
+                    instance.initVerify(publicKey);
+                    return instance;
+                } catch (GeneralSecurityException exception) {
+                    throw new IllegalStateException("SHA256withECDSA not available", exception);
+                }
+            });
+        }
+
+        @Override
+        boolean verify(Scratch scratch) {
+            if (decode(scratch.token, scratch.secondDot + 1, scratch.length, scratch.signature) != ES256_SIGNATURE_LENGTH) {
+                return false;
+            }
+            Signature instance = signature.acquire();
+            boolean valid;
+            try {
+                instance.update(scratch.token, 0, scratch.secondDot);
+                valid = instance.verify(scratch.signature, 0, ES256_SIGNATURE_LENGTH);
+            } catch (SignatureException exception) {
+                // verify() resets the object; a failed update() leaves it mid-message, so drop it.
+                return false;
+            }
+            signature.release(instance);
+            return valid;
+        }
+    }
+
+    // ---------------------------------------------------------------- buffers
+
+    /**
+     * Bounded pool without locks. Each slot holds at most one idle object; {@link #acquire()}
+     * creates one when every slot it looks at is empty and {@link #release} drops it when every
+     * slot is full, so the pool never blocks and never holds more than {@link #POOL_SIZE}.
+     */
+    static final class Pool<T> {
+        private final AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(POOL_SIZE);
+        private final Supplier<T> factory;
+
+        Pool(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        T acquire() {
+            int first = first();
+            for (int i = 0; i < POOL_SIZE; i++) {
+                int slot = (first + i) % POOL_SIZE;
+                if (slots.getPlain(slot) != null) {
+                    T idle = slots.getAndSet(slot, null);
+                    if (idle != null) {
+                        return idle;
+                    }
+                }
+            }
+            return factory.get();
+        }
+
+        void release(T idle) {
+            int first = first();
+            for (int i = 0; i < POOL_SIZE; i++) {
+                int slot = (first + i) % POOL_SIZE;
+                if (slots.getPlain(slot) == null && slots.compareAndSet(slot, null, idle)) {
+                    return;
+                }
+            }
+        }
+
+        /** Spreads threads over the slots so they rarely contend for the same one. */
+        private static int first() {
+            return (int) (Thread.currentThread().threadId() % POOL_SIZE);
+        }
+    }
+
+    /** Pooled working memory, so verification allocates nothing until it succeeds. */
+    static final class Scratch implements AutoCloseable {
+        byte[] token = new byte[INITIAL_BUFFER_LENGTH];
+        byte[] json = new byte[INITIAL_BUFFER_LENGTH];
+        byte[] signature = new byte[INITIAL_BUFFER_LENGTH];
+        final byte[] expected = new byte[HS256_SIGNATURE_LENGTH];
+        final byte[] digest = new byte[32];
+        final MessageDigest sha256;
+
+        int length;
+        int firstDot;
+        int secondDot;
+        int algOffset;
+        int algLength;
+        int kidOffset;
+        int kidLength;
+        int position;
+        int limit;
+
+        Scratch() {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException exception) {
+                throw new IllegalStateException("SHA-256 not available", exception);
+            }
+        }
+
+        /** Grows the buffers to hold a token of {@code length} characters and anything decoded from it. */
+        void ensureCapacity(int length) {
+            if (token.length < length) {
+                int capacity = Math.min(MAX_TOKEN_LENGTH, Integer.highestOneBit(length - 1) << 1);
+                token = new byte[capacity];
+                json = new byte[capacity];
+                signature = new byte[capacity];
+            }
+        }
+
+        /** Returns this buffer to the pool; it must not be used afterwards. */
+        @Override
+        public void close() {
+            SCRATCH.release(this);
+        }
+
+        /** SHA-256 of the loaded token, left in {@link #digest}. */
+        byte[] digest() {
+            sha256.update(token, 0, length);
+            try {
+                sha256.digest(digest, 0, digest.length);
+            } catch (GeneralSecurityException exception) {
+                throw new IllegalStateException("SHA-256 digest failed", exception);
+            }
+            return digest;
+        }
+    }
+
+    /**
+     * Decodes unpadded base64url {@code source[from..to)} into {@code target}.
+     *
+     * @return the decoded length, or {@code -1} if the segment length is impossible
+     */
+    static int decode(byte[] source, int from, int to, byte[] target) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int out = 0;
+        int i = from;
+        for (; i + 4 <= to; i += 4) {
+            int bits = BASE64URL[source[i]] << 18 | BASE64URL[source[i + 1]] << 12
+                    | BASE64URL[source[i + 2]] << 6 | BASE64URL[source[i + 3]];
+            target[out++] = (byte) (bits >> 16);
+            target[out++] = (byte) (bits >> 8);
+            target[out++] = (byte) bits;
+        }
+        int remaining = to - i;
+        if (remaining >= 2) {
+            int bits = BASE64URL[source[i]] << 18 | BASE64URL[source[i + 1]] << 12;
+            if (remaining == 3) {
+                bits |= BASE64URL[source[i + 2]] << 6;
+            }
+            target[out++] = (byte) (bits >> 16);
+            if (remaining == 3) {
+                target[out++] = (byte) (bits >> 8);
+            }
+        }
+        return out;
+    }
+
+    // ---------------------------------------------------------------- header
+
+    /**
+     * Records where {@code alg} and {@code kid} sit in the decoded header. Headers with a
+     * {@code crit} parameter are rejected, since we implement no extensions.
+     */
+    private static boolean scanHeader(Scratch scratch, int headerLength) {
+        scratch.position = 0;
+        scratch.limit = headerLength;
+        scratch.algLength = -1;
+        scratch.kidLength = -1;
+        try {
+            expect(scratch, '{');
+            if (peek(scratch) == '}') {
+                scratch.position++;
+            } else {
+                do {
+                    int nameStart = skipWhitespace(scratch) + 1;
+                    int nameLength = skipString(scratch);
+                    expect(scratch, ':');
+                    if (is(scratch.json, nameStart, nameLength, "alg") || is(scratch.json, nameStart, nameLength, "kid")) {
+                        int valueStart = skipWhitespace(scratch) + 1;
+                        int valueLength = skipString(scratch);
+                        if (valueLength < 0) {
+                            return false;
+                        }
+                        if (scratch.json[nameStart] == 'a') {
+                            scratch.algOffset = valueStart;
+                            scratch.algLength = valueLength;
+                        } else {
+                            scratch.kidOffset = valueStart;
+                            scratch.kidLength = valueLength;
+                        }
+                    } else if (is(scratch.json, nameStart, nameLength, "crit")) {
+                        return false;
+                    } else {
+                        skipValue(scratch, 0);
+                    }
+                } while (nextMember(scratch));
+            }
+            return skipWhitespace(scratch) == scratch.limit;
+        } catch (MalformedToken malformed) {
+            return false;
+        }
+    }
+
+    // ---------------------------------------------------------------- claims
+
+    private VerifiedToken readClaims(Scratch scratch, long nowMillis) {
+        byte[] json = scratch.json;
+        boolean issuerMatches = false;
+        String subject = null;
+        String tokenId = null;
+        String userId = null;
+        String name = null;
+        List<String> roles = null;
+        long expiresAt = Long.MIN_VALUE;
+
+        expect(scratch, '{');
+        if (peek(scratch) == '}') {
+            scratch.position++;
+        } else {
+            do {
+                int nameStart = skipWhitespace(scratch) + 1;
+                int nameLength = skipString(scratch);
+                expect(scratch, ':');
+                if (nameLength < 0) {
+                    skipValue(scratch, 0);
+                } else if (is(json, nameStart, nameLength, "iss")) {
+                    int valueStart = skipWhitespace(scratch) + 1;
+                    int valueLength = skipString(scratch);
+                    issuerMatches = valueLength >= 0
+                            ? Arrays.equals(issuer, 0, issuer.length, json, valueStart, valueStart + valueLength)
+                            : Arrays.equals(issuer, stringAt(scratch, valueStart).getBytes(StandardCharsets.UTF_8));
+                } else if (is(json, nameStart, nameLength, "sub")) {
+                    subject = readString(scratch);
+                } else if (is(json, nameStart, nameLength, "jti")) {
+                    tokenId = readString(scratch);
+                } else if (is(json, nameStart, nameLength, "exp")) {
+                    expiresAt = readSeconds(scratch);
+                } else if (is(json, nameStart, nameLength, "nbf") || is(json, nameStart, nameLength, "iat")) {
+                    if (nowMillis / 1000 < readSeconds(scratch)) {
+                        return null;
+                    }
+                } else if (is(json, nameStart, nameLength, "token_use")) {
+                    // Refresh tokens carry it; they are only accepted at /auth/refresh.
+                    return null;
+                } else if (is(json, nameStart, nameLength, "uid")) {
+                    userId = readString(scratch);
+                } else if (is(json, nameStart, nameLength, "name")) {
+                    name = readNullableString(scratch);
+                } else if (is(json, nameStart, nameLength, "roles")) {
+                    roles = readStrings(scratch);
+                } else {
+                    skipValue(scratch, 0);
+                }
+            } while (nextMember(scratch));
+        }
+        if (skipWhitespace(scratch) != scratch.limit || !issuerMatches) {
+            return null;
+        }
+        if (expiresAt != Long.MIN_VALUE && nowMillis / 1000 > expiresAt) {
+            return null;
+        }
+        AuthenticatedUser identity = userId != null && roles != null
+                ? AuthenticatedUser.of(userId, subject, name, roles)
+                : null;
+        return new VerifiedToken(subject,
+                expiresAt != Long.MIN_VALUE ? Instant.ofEpochSecond(expiresAt) : null,
+                tokenId,
+                identity);
+    }
+
+    private static String readString(Scratch scratch) {
+        int valueStart = skipWhitespace(scratch) + 1;
+        int valueLength = skipString(scratch);
+        return valueLength >= 0
+                ? new String(scratch.json, valueStart, valueLength, StandardCharsets.UTF_8)
+                : stringAt(scratch, valueStart);
+    }
+
+    private static String readNullableString(Scratch scratch) {
+        if (peek(scratch) == 'n') {
+            skipValue(scratch, 0);
+            return null;
+        }
+        return readString(scratch);
+    }
+
+    private static List<String> readStrings(Scratch scratch) {
+        expect(scratch, '[');
+        List<String> values = new ArrayList<>(2);
+        if (peek(scratch) == ']') {
+            scratch.position++;
+            return values;
+        }
+        do {
+            values.add(readString(scratch));
+        } while (nextElement(scratch, ']'));
+        return values;
+    }
+
+    /** Reads a NumericDate, which we always write as whole seconds. */
+    private static long readSeconds(Scratch scratch) {
+        skipWhitespace(scratch);
+        byte[] json = scratch.json;
+        int i = scratch.position;
+        long value = 0;
+        int digits = 0;
+        while (i < scratch.limit && json[i] >= '0' && json[i] <= '9' && digits < 18) {
+            value = value * 10 + (json[i++] - '0');
+            digits++;
+        }
+        if (digits == 0 || i < scratch.limit && (json[i] == '.' || json[i] == 'e' || json[i] == 'E' || json[i] >= '0' && json[i] <= '9')) {
+            throw MalformedToken.INSTANCE;
+        }
+        scratch.position = i;
+        return value;
+    }
+
+    // ---------------------------------------------------------------- JSON scanning
+
+    /**
+     * Skips a string starting at the current position.
+     *
+     * @return its raw length when it has no escapes, or {@code -1} when it does; either way
+     *         the position ends after the closing quote
+     */
+    private static int skipString(Scratch scratch) {
+        expect(scratch, '"');
+        byte[] json = scratch.json;
+        int start = scratch.position;
+        boolean escaped = false;
+        for (int i = start; i < scratch.limit; i++) {
+            byte b = json[i];
+            if (b == '"') {
+                scratch.position = i + 1;
+                return escaped ? -1 : i - start;
+            }
+            if (b == '\\') {
+                escaped = true;
+                i++;
+            } else if (b >= 0 && b < 0x20) {
+                break;
+            }
+        }
+        throw MalformedToken.INSTANCE;
+    }
+
+    /** Decodes the escaped string whose contents start at {@code start}. Rare for our tokens. */
+    private static String stringAt(Scratch scratch, int start) {
+        byte[] json = scratch.json;
+        StringBuilder value = new StringBuilder();
+        int run = start;
+        int i = start;
+        while (json[i] != '"') {
+            if (json[i] != '\\') {
+                i++;
+                continue;
+            }
+            value.append(new String(json, run, i - run, StandardCharsets.UTF_8));
+            byte escape = json[i + 1];
+            switch (escape) {
+                case '"', '\\', '/' -> value.append((char) escape);
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'u' -> {
+                    if (i + 6 > scratch.limit) {
+                        throw MalformedToken.INSTANCE;
+                    }
+                    int code = 0;
+                    for (int j = i + 2; j < i + 6; j++) {
+                        int digit = Character.digit(json[j], 16);
+                        if (digit < 0) {
+                            throw MalformedToken.INSTANCE;
+                        }
+                        code = code << 4 | digit;
+                    }
+                    value.append((char) code);
+                    i += 4;
+                }
+                default -> throw MalformedToken.INSTANCE;
+            }
+            i += 2;
+            run = i;
+        }
+        value.append(new String(json, run, i - run, StandardCharsets.UTF_8));
+        return value.toString();
+    }
+
+    private static void skipValue(Scratch scratch, int depth) {
+        if (depth > 16) {
+            throw MalformedToken.INSTANCE;
+        }
+        byte next = peek(scratch);
+        switch (next) {
+            case '"' -> skipString(scratch);
+            case '{' -> {
+                scratch.position++;
+                if (peek(scratch) == '}') {
+                    scratch.position++;
+                    return;
+                }
+                do {
+                    skipString(scratch);
+                    expect(scratch, ':');
+                    skipValue(scratch, depth + 1);
+                } while (nextElement(scratch, '}'));
+            }
+            case '[' -> {
+                scratch.position++;
+                if (peek(scratch) == ']') {
+                    scratch.position++;
+                    return;
+                }
+                do {
+                    skipValue(scratch, depth + 1);
+                } while (nextElement(scratch, ']'));
+            }
+            default -> {
+                // Numbers and literals: consume up to the next structural character.
+                int i = scratch.position;
+                while (i < scratch.limit && ",}] \t\r\n".indexOf(scratch.json[i]) < 0) {
+                    i++;
+                }
+                if (i == scratch.position) {
+                    throw MalformedToken.INSTANCE;
+                }
+                scratch.position = i;
+            }
+        }
+    }
+
+    private static boolean nextMember(Scratch scratch) {
+        return nextElement(scratch, '}');
+    }
+
+    private static boolean nextElement(Scratch scratch, char close) {
+        byte next = peek(scratch);
+        scratch.position++;
+        if (next == ',') {
+            return true;
+        }
+        if (next == close) {
+            return false;
+        }
+        throw MalformedToken.INSTANCE;
+    }
+
+    private static void expect(Scratch scratch, char expected) {
+        if (peek(scratch) != expected) {
+            throw MalformedToken.INSTANCE;
+        }
+        scratch.position++;
+    }
+
+    private static byte peek(Scratch scratch) {
+        int i = skipWhitespace(scratch);
+        if (i >= scratch.limit) {
+            throw MalformedToken.INSTANCE;
+        }
+        return scratch.json[i];
+    }
+
+    private static int skipWhitespace(Scratch scratch) {
+        int i = scratch.position;
+        byte[] json = scratch.json;
+        while (i < scratch.limit && (json[i] == ' ' || json[i] == '\t' || json[i] == '\r' || json[i] == '\n')) {
+            i++;
+        }
+        scratch.position = i;
+        return i;
+    }
+
+    private static boolean is(byte[] json, int offset, int length, String name) {
+        if (length != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (json[offset + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Thrown by the scanner and caught in this class only; shared and stackless. */
+    private static final class MalformedToken extends RuntimeException {
+        static final MalformedToken INSTANCE = new MalformedToken();
+
+        private MalformedToken() {
+            super(null, null, false, false);
+        }
+    }
+}
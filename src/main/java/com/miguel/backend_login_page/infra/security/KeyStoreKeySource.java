@@ -0,0 +1,156 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.miguel.backend_login_page.domain.token.TokenSigningKey;
+
+/**
+ * Reads the signing key ring from a PKCS12 or JKS keystore instead of the database. Each entry
+ * is one key and its alias is the {@code kid}. Private key entries can sign; certificate-only
+ * entries only verify.
+ * <p>
+ * A key's place in the ring follows from its certificate's {@code notBefore} plus the
+ * activation delay, so every node reading the same file makes the same choice at the same
+ * instant. The delay does not apply to the earliest private key, which has no predecessor to
+ * overlap with. Before that time the key is the published <em>next</em> key, then it signs until a
+ * later private key becomes active, and from then on it is retired. The certificate's
+ * {@code notAfter} is ignored.
+ */
+final class KeyStoreKeySource {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyStoreKeySource.class);
+
+    private final Path path;
+    private final String type;
+    private final char[] password;
+    private final Duration activationDelay;
+    private final Duration retention;
+    private volatile Instant nextChange;
+
+    KeyStoreKeySource(Path path, String type, String password, Duration activationDelay, Duration retention) {
+        this.path = path;
+        this.type = type;
+        this.password = password.toCharArray();
+        this.activationDelay = activationDelay;
+        this.retention = retention;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /** When the last {@link #load} result stops being current without the file changing, if ever. */
+    Instant nextChange() {
+        return nextChange;
+    }
+
+    /**
+     * Reads the keystore and classifies its keys as of {@code now}.
+     *
+     * @throws IllegalStateException if the file cannot be read or has no private key active yet
+     */
+    List<TokenSigningKey> load(Instant now) {
+        KeyStore store = read();
+        List<TokenSigningKey> keys = new ArrayList<>();
+        try {
+            for (String alias : Collections.list(store.aliases())) {
+                TokenSigningKey key = entry(store, alias);
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Unreadable token keystore " + path, exception);
+        }
+        keys.sort(Comparator.comparing(TokenSigningKey::getCreatedAt));
+        // The first key has nothing to take over from, so it signs without waiting.
+        keys.stream()
+                .filter(key -> key.getPrivateKey() != null)
+                .findFirst()
+                .ifPresent(first -> first.setCreatedAt(first.getCreatedAt().minus(activationDelay)));
+        if (keys.stream().noneMatch(key -> key.getPrivateKey() != null && !key.getCreatedAt().isAfter(now))) {
+            throw new IllegalStateException("No active ES256 private key in token keystore " + path);
+        }
+
+        // createdAt is the activation time; activatedAt is only set once that has passed.
+        List<Instant> signerActivations = keys.stream()
+                .filter(key -> key.getPrivateKey() != null && !key.getCreatedAt().isAfter(now))
+                .map(TokenSigningKey::getCreatedAt)
+                .toList();
+        Instant next = null;
+        for (TokenSigningKey key : keys) {
+            Instant activation = key.getCreatedAt();
+            if (activation.isAfter(now)) {
+                next = earliest(next, activation);
+                continue;
+            }
+            key.setActivatedAt(activation);
+            signerActivations.stream()
+                    .filter(signer -> signer.isAfter(activation))
+                    .findFirst()
+                    .ifPresent(key::setRetiredAt);
+            if (key.getRetiredAt() != null && key.getRetiredAt().plus(retention).isAfter(now)) {
+                next = earliest(next, key.getRetiredAt().plus(retention));
+            }
+        }
+        nextChange = next;
+        return keys;
+    }
+
+    private KeyStore read() {
+        try (InputStream in = Files.newInputStream(path)) {
+            KeyStore store = KeyStore.getInstance(type);
+            store.load(in, password);
+            return store;
+        } catch (IOException | GeneralSecurityException exception) {
+            throw new IllegalStateException("Unreadable token keystore " + path + ": " + exception.getMessage(), exception);
+        }
+    }
+
+    private TokenSigningKey entry(KeyStore store, String alias) throws GeneralSecurityException {
+        Certificate certificate = store.getCertificate(alias);
+        if (certificate == null || !(certificate.getPublicKey() instanceof ECPublicKey publicKey)
+                || publicKey.getParams().getCurve().getField().getFieldSize() != 256) {
+            log.warn("Skipping {} in token keystore {}: not a P-256 key with a certificate", alias, path);
+            return null;
+        }
+        PrivateKey privateKey = null;
+        if (store.isKeyEntry(alias)) {
+            Key key = store.getKey(alias, password);
+            if (!(key instanceof ECPrivateKey ecKey)) {
+                log.warn("Skipping {} in token keystore {}: not an EC private key", alias, path);
+                return null;
+            }
+            privateKey = ecKey;
+        }
+        Instant issued = certificate instanceof X509Certificate x509
+                ? x509.getNotBefore().toInstant()
+                : store.getCreationDate(alias).toInstant();
+        return new TokenSigningKey(alias, SigningKeyRing.ES256, publicKey.getEncoded(),
+                privateKey != null ? privateKey.getEncoded() : null, issued.plus(activationDelay), null, null, null);
+    }
+
+    private static Instant earliest(Instant current, Instant candidate) {
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+}
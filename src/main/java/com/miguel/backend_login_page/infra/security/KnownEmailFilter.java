@@ -0,0 +1,129 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.miguel.backend_login_page.repository.UserRepository;
+
+/**
+ * Negative cache of registered emails backed by a {@link BloomFilter}.
+ * <p>
+ * A {@code false} from {@link #mightContain(String)} means the email is definitely not
+ * registered, so callers can skip the database. Until the first load completes, and
+ * whenever the filter is disabled, every email is reported as possibly present.
+ */
+@Component
+public class KnownEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(KnownEmailFilter.class);
+
+    private final UserRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final LongAdder skippedLookups = new LongAdder();
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+
+    public KnownEmailFilter(
+            UserRepository repository,
+            TransactionTemplate transactionTemplate,
+            @Value("${api.security.email-filter.enabled:false}") boolean enabled,
+            @Value("${api.security.email-filter.expected-users:1000000}") long expectedInsertions,
+            @Value("${api.security.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightContain(String email) {
+        BloomFilter filter = current;
+        if (filter == null || email == null || filter.mightContain(email)) {
+            return true;
+        }
+        skippedLookups.increment();
+        return false;
+    }
+
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(email);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(email);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.email-filter.refresh-interval:5m}",
+            initialDelayString = "${api.security.email-filter.refresh-interval:5m}")
+    public void refresh() {
+        if (enabled && current != null) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Streams every email into a fresh filter and swaps it in. Emails inserted while the
+     * rebuild runs are written to both filters, so none are lost by the swap.
+     */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        BloomFilter next = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        building = next;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> emails = repository.streamAllEmails()) {
+                    emails.forEach(next::put);
+                }
+            });
+            current = next;
+        } finally {
+            building = null;
+        }
+        log.info("Loaded {} emails into the known-email filter in {} ms ({} KiB, {} hashes, ~{} false-positive rate)",
+                next.insertions(), (System.nanoTime() - started) / 1_000_000, next.bitCount() / 8 / 1024,
+                next.hashCount(), String.format("%.4f", next.expectedFalsePositiveRate()));
+        if (next.insertions() > expectedInsertions) {
+            log.warn("Known-email filter holds {} emails but is sized for {}; raise api.security.email-filter.expected-users",
+                    next.insertions(), expectedInsertions);
+        }
+    }
+
+    public boolean isLoaded() {
+        return current != null;
+    }
+
+    public long getSkippedLookups() {
+        return skippedLookups.sum();
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        BloomFilter filter = current;
+        return filter != null ? filter.expectedFalsePositiveRate() : 1.0;
+    }
+}
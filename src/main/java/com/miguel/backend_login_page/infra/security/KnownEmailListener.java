@@ -0,0 +1,47 @@
+package com.miguel.backend_login_page.infra.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.miguel.backend_login_page.domain.user.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener that adds newly persisted emails to the {@link KnownEmailFilter}.
+ * <p>
+ * Like {@link PrincipalCacheInvalidator}, it waits for the commit: a rolled-back
+ * registration leaves no bit set behind. Writes outside a transaction are added at once.
+ */
+@Component
+public class KnownEmailListener {
+
+    private final ObjectProvider<KnownEmailFilter> knownEmails;
+
+    public KnownEmailListener(ObjectProvider<KnownEmailFilter> knownEmails) {
+        this.knownEmails = knownEmails;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onUserSaved(User user) {
+        String email = user.getEmail();
+        afterCommit(() -> knownEmails.ifAvailable(filter -> filter.add(email)));
+    }
+
+    private static void afterCommit(Runnable addition) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addition.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addition.run();
+            }
+        });
+    }
+}
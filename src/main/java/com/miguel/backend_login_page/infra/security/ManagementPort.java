@@ -0,0 +1,31 @@
+package com.miguel.backend_login_page.infra.security;
+
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recognises requests that arrived on a separate {@code management.server.port}. That port is
+ * not published, so metrics scrapers use it without a token. The port is taken from the
+ * management server once it has started, which also covers a random port ({@code 0}); with no
+ * separate port nothing matches.
+ */
+@Component
+public class ManagementPort implements ApplicationListener<WebServerInitializedEvent> {
+
+    /** Server namespace of the child context Boot starts for a separate management port. */
+    private static final String NAMESPACE = "management";
+
+    private volatile int port = -1;
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (NAMESPACE.equals(event.getApplicationContext().getServerNamespace())) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    public boolean matches(int localPort) {
+        return port > 0 && localPort == port;
+    }
+}
@@ -0,0 +1,165 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.miguel.backend_login_page.infra.exception.HashingCapacityExceededException;
+
+/**
+ * Runs password hashing on a dedicated, bounded pool so that a burst of logins
+ * cannot occupy every request thread. When the queue is full, callers fail fast
+ * with {@link HashingCapacityExceededException}.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private volatile String dummyHash;
+
+    public PasswordHashingExecutor(
+            PasswordEncoder passwordEncoder,
+            @Value("${api.security.hashing.threads:0}") int threads,
+            @Value("${api.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${api.security.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Spends the same hashing work as {@link #matches} against a throwaway hash, so a request
+     * for an unknown account takes as long as one with a wrong password.
+     */
+    public void simulateMatch(CharSequence rawPassword) {
+        String dummy = dummyHash;
+        if (dummy == null) {
+            dummy = passwordEncoder.encode("dummy-password-for-timing-equalization");
+            dummyHash = dummy;
+        }
+        matches(rawPassword, dummy);
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.sum();
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                recordWait(System.nanoTime() - enqueuedAt);
+                try {
+                    return task.call();
+                } finally {
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            rejected.increment();
+            throw new HashingCapacityExceededException("Too many authentication requests, try again later", retryAfterSeconds, exception);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", exception);
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.miguel.backend_login_page.domain.user.User;
+
+/**
+ * Bounded cache of authenticated principals keyed by the token subject.
+ * Entries expire after the configured TTL or at the expiry of the token that
+ * loaded them, whichever comes first.
+ */
+@Component
+public class PrincipalCache {
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Cache<String, CachedPrincipal> cache;
+
+    public PrincipalCache(
+            @Value("${api.security.principal-cache.enabled:true}") boolean enabled,
+            @Value("${api.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${api.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenBoundExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached principal for {@code subject}, loading it with {@code loader} on a miss.
+     * The loader runs outside of the cache's internal locks, so a slow lookup never blocks
+     * other subjects. Absent users are not cached.
+     */
+    public Optional<User> get(String subject, Instant tokenExpiresAt, Function<String, Optional<User>> loader) {
+        if (!enabled) {
+            return loader.apply(subject);
+        }
+
+        Optional<User> cached = getIfPresent(subject);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<User> loaded = loader.apply(subject);
+        loaded.ifPresent(user -> put(subject, tokenExpiresAt, user));
+        return loaded;
+    }
+
+    /** The cached principal alone, for callers that load misses asynchronously. */
+    public Optional<User> getIfPresent(String subject) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        CachedPrincipal cached = cache.getIfPresent(subject);
+        return cached != null ? Optional.of(cached.user()) : Optional.empty();
+    }
+
+    public void put(String subject, Instant tokenExpiresAt, User user) {
+        if (enabled) {
+            Instant expiresAt = tokenExpiresAt != null ? tokenExpiresAt : Instant.now().plus(ttl);
+            cache.put(subject, new CachedPrincipal(user, expiresAt));
+        }
+    }
+
+    public void invalidate(String subject) {
+        if (subject != null) {
+            cache.invalidate(subject);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private record CachedPrincipal(User user, Instant expiresAt) { }
+
+    private final class TokenBoundExpiry implements Expiry<String, CachedPrincipal> {
+        @Override
+        public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+            long untilTokenExpiry = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+            return Math.max(0, Math.min(ttl.toNanos(), untilTokenExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.miguel.backend_login_page.infra.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.miguel.backend_login_page.domain.user.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener that drops cached principals whenever a {@link User} is written
+ * through {@code UserRepository}.
+ * <p>
+ * The callbacks fire at flush, before the transaction commits. Evicting then would let a
+ * concurrent request reload the old row and cache it again, so eviction waits for the
+ * commit; a rollback leaves the cache alone. Writes outside a transaction evict at once.
+ */
+@Component
+public class PrincipalCacheInvalidator {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    public PrincipalCacheInvalidator(ObjectProvider<PrincipalCache> principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostPersist
+    public void onUserCreated(User user) {
+        String email = user.getEmail();
+        afterCommit(() -> principalCache.ifAvailable(cache -> cache.invalidate(email)));
+    }
+
+    /** The email is an immutable natural id and the cache key, so evicting it covers every entry. */
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String email = user.getEmail();
+        afterCommit(() -> principalCache.ifAvailable(cache -> cache.invalidate(email)));
+    }
+
+    private static void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+}
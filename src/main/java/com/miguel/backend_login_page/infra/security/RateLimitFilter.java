@@ -0,0 +1,221 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miguel.backend_login_page.infra.exception.ErrorResponseWriter;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds password-checking requests before they reach a BCrypt comparison. {@code POST
+ * /auth/login} and {@code POST /auth/register} draw from a per-client-IP bucket, and login
+ * additionally from a per-email bucket. A request refused by either gets 429 with
+ * {@code Retry-After}.
+ * <p>
+ * The client is {@code getRemoteAddr()}, which Tomcat's {@code RemoteIpValve} replaces with the
+ * {@code X-Forwarded-For} address only for requests from a configured trusted proxy. Login bodies
+ * are buffered to read the email; one declared or found to be larger than
+ * {@code max-body-size} gets 413 instead.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/auth/login";
+    private static final String REGISTER_PATH = "/auth/register";
+
+    private final ObjectMapper objectMapper;
+    private final ErrorResponseWriter errors;
+    private final AuthMetrics metrics;
+    private final boolean enabled;
+    private final RateLimiter ipLimiter;
+    private final RateLimiter emailLimiter;
+    private final int maxBodyBytes;
+
+    public RateLimitFilter(
+            ObjectMapper objectMapper,
+            ErrorResponseWriter errors,
+            AuthMetrics metrics,
+            @Value("${api.security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${api.security.rate-limit.ip.capacity:30}") int ipCapacity,
+            @Value("${api.security.rate-limit.ip.refill-period:1m}") Duration ipRefillPeriod,
+            @Value("${api.security.rate-limit.email.capacity:10}") int emailCapacity,
+            @Value("${api.security.rate-limit.email.refill-period:10m}") Duration emailRefillPeriod,
+            @Value("${api.security.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${api.security.rate-limit.max-body-size:16KB}") DataSize maxBodySize) {
+        this.objectMapper = objectMapper;
+        this.errors = errors;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.ipLimiter = new RateLimiter(ipCapacity, ipRefillPeriod, maxKeys);
+        this.emailLimiter = new RateLimiter(emailCapacity, emailRefillPeriod, maxKeys);
+        this.maxBodyBytes = (int) Math.min(Integer.MAX_VALUE - 1, maxBodySize.toBytes());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return !LOGIN_PATH.equals(path) && !REGISTER_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+
+        if (LOGIN_PATH.equals(path(request))) {
+            if (request.getContentLengthLong() > maxBodyBytes) {
+                tooLarge(response);
+                return;
+            }
+            // Chunked bodies declare no length: read one byte past the limit to detect them.
+            byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+            if (body.length > maxBodyBytes) {
+                tooLarge(response);
+                return;
+            }
+            CachedBodyRequest cached = new CachedBodyRequest(request, body);
+            String email = readEmail(cached.body);
+            if (email != null) {
+                waitNanos = emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+                if (waitNanos > 0) {
+                    reject(response, waitNanos);
+                    return;
+                }
+            }
+            request = cached;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    public RateLimiter getIpLimiter() {
+        return ipLimiter;
+    }
+
+    public RateLimiter getEmailLimiter() {
+        return emailLimiter;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private String readEmail(byte[] body) {
+        // Only the top-level "email" field is needed, so stream tokens rather than bind the DTO.
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException malformed) {
+            // Leave malformed bodies to the controller's own error handling.
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        metrics.countError("TOO_MANY_REQUESTS");
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(waitNanos)));
+        errors.write(response, HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_REQUESTS", "Too many attempts, try again later");
+    }
+
+    private void tooLarge(HttpServletResponse response) throws IOException {
+        metrics.countError("PAYLOAD_TOO_LARGE");
+        // The rest of the body is not read, so the connection cannot be reused.
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        errors.write(response, HttpStatus.PAYLOAD_TOO_LARGE, "PAYLOAD_TOO_LARGE", "Request body too large");
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        }
+    }
+}
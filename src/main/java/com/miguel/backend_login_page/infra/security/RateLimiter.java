@@ -0,0 +1,82 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keyed token buckets with {@code capacity} tokens that refill completely over
+ * {@code refillPeriod}.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the
+ * generic cell rate algorithm), so a decision is one CAS on a per-key word and never takes
+ * a lock. Buckets live in a size-bounded Caffeine cache and are dropped after one idle
+ * refill period, at which point they would be full again anyway.
+ */
+public final class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimiter(int capacity, Duration refillPeriod, long maxKeys) {
+        this(capacity, refillPeriod, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int capacity, Duration refillPeriod, long maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and refill period");
+        }
+        this.emissionIntervalNanos = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(refillPeriod)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}.
+     *
+     * @return {@code 0} when the request is allowed, otherwise the nanoseconds until a token
+     *         becomes available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long stored = bucket.get();
+            long arrival = stored == Long.MIN_VALUE || stored - now < 0 ? now : stored;
+            long waitNanos = arrival - burstToleranceNanos - now;
+            if (waitNanos > 0) {
+                rejected.increment();
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(stored, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Whole seconds to put in a {@code Retry-After} header for a wait of {@code waitNanos}. */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
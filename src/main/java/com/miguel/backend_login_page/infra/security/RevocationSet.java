@@ -0,0 +1,217 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Set of 64-bit token fingerprints that forgets each entry once its expiry passes.
+ * <p>
+ * Membership is an open-addressed {@code long[]} with linear probing, so an entry costs 16
+ * bytes at the 50% load factor and no objects. Expiry is a hashed timing wheel: each entry
+ * is filed under the slot of its expiry tick, and {@link #advance(long)} only visits the
+ * slots the clock has passed. Lookups are optimistic reads that never block; writers take
+ * an exclusive lock, which is fine because revocations are rare next to lookups.
+ */
+public final class RevocationSet {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final StampedLock lock = new StampedLock();
+    private final long tickMillis;
+    private final int wheelMask;
+    private final long[][] wheel;
+    private final int[] wheelCounts;
+
+    private long[] table = new long[INITIAL_CAPACITY];
+    private int size;
+    private long currentTick = Long.MIN_VALUE;
+
+    /**
+     * @param tick       expiry granularity; entries are dropped at most one tick late
+     * @param wheelSlots number of wheel slots, rounded up to a power of two. Entries further
+     *                   out than {@code tick * wheelSlots} simply survive extra rotations.
+     */
+    public RevocationSet(Duration tick, int wheelSlots) {
+        this.tickMillis = Math.max(1, tick.toMillis());
+        int slots = Integer.highestOneBit(Math.max(1, wheelSlots - 1)) << 1;
+        this.wheelMask = slots - 1;
+        this.wheel = new long[slots][];
+        this.wheelCounts = new int[slots];
+    }
+
+    public boolean contains(long fingerprint) {
+        long key = nonZero(fingerprint);
+        long stamp = lock.tryOptimisticRead();
+        boolean found = probe(table, key);
+        if (lock.validate(stamp)) {
+            return found;
+        }
+        stamp = lock.readLock();
+        try {
+            return probe(table, key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds a fingerprint until {@code expiresAtMillis}.
+     *
+     * @return {@code false} if it was already present
+     */
+    public boolean add(long fingerprint, long expiresAtMillis) {
+        long key = nonZero(fingerprint);
+        long stamp = lock.writeLock();
+        try {
+            if (!insert(key)) {
+                return false;
+            }
+            int slot = (int) (Math.floorDiv(expiresAtMillis, tickMillis) & wheelMask);
+            long[] entries = wheel[slot];
+            int count = wheelCounts[slot];
+            if (entries == null) {
+                entries = wheel[slot] = new long[8];
+            } else if (count + 2 > entries.length) {
+                entries = wheel[slot] = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[count] = key;
+            entries[count + 1] = expiresAtMillis;
+            wheelCounts[slot] = count + 2;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Drops every entry whose expiry is at or before {@code nowMillis}. */
+    public void advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        long stamp = lock.writeLock();
+        try {
+            long from = currentTick == Long.MIN_VALUE || nowTick - currentTick > wheelMask
+                    ? nowTick - wheelMask
+                    : currentTick + 1;
+            for (long tick = from; tick <= nowTick; tick++) {
+                expireSlot((int) (tick & wheelMask), nowMillis);
+            }
+            currentTick = Math.max(currentTick, nowTick);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void expireSlot(int slot, long nowMillis) {
+        long[] entries = wheel[slot];
+        int count = wheelCounts[slot];
+        int kept = 0;
+        for (int i = 0; i < count; i += 2) {
+            if (entries[i + 1] <= nowMillis) {
+                remove(entries[i]);
+            } else {
+                entries[kept] = entries[i];
+                entries[kept + 1] = entries[i + 1];
+                kept += 2;
+            }
+        }
+        wheelCounts[slot] = kept;
+        if (kept == 0 && entries != null && entries.length > 64) {
+            wheel[slot] = null;
+        }
+    }
+
+    private static boolean probe(long[] table, long key) {
+        int mask = table.length - 1;
+        int index = index(key, table.length);
+        for (int probes = 0; probes < table.length; probes++) {
+            long current = table[index];
+            if (current == key) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    private boolean insert(long key) {
+        if ((size + 1) * 2 > table.length) {
+            resize(table.length * 2);
+        }
+        int mask = table.length - 1;
+        int index = index(key, table.length);
+        while (table[index] != 0) {
+            if (table[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = key;
+        size++;
+        return true;
+    }
+
+    private void remove(long key) {
+        int mask = table.length - 1;
+        int hole = index(key, table.length);
+        while (table[hole] != key) {
+            if (table[hole] == 0) {
+                return;
+            }
+            hole = (hole + 1) & mask;
+        }
+        table[hole] = 0;
+        size--;
+        // Backward-shift deletion: pull later entries of the probe run into the hole.
+        int next = hole;
+        while (true) {
+            next = (next + 1) & mask;
+            long candidate = table[next];
+            if (candidate == 0) {
+                return;
+            }
+            int home = index(candidate, table.length);
+            boolean homeBetween = hole <= next
+                    ? hole < home && home <= next
+                    : hole < home || home <= next;
+            if (!homeBetween) {
+                table[hole] = candidate;
+                table[next] = 0;
+                hole = next;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        size = 0;
+        for (long key : old) {
+            if (key != 0) {
+                insert(key);
+            }
+        }
+    }
+
+    private static int index(long key, int capacity) {
+        // Fibonacci hashing: the top log2(capacity) bits of the product pick the slot. The
+        // shift is derived from the array itself so an optimistic reader that races a resize
+        // still indexes inside whichever table it loaded.
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - Integer.numberOfTrailingZeros(capacity)));
+    }
+
+    private static long nonZero(long fingerprint) {
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+}
@@ -1,6 +1,9 @@
 package com.miguel.backend_login_page.infra.security;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,7 +13,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -25,6 +27,12 @@ public class SecurityConfig {
     @Autowired
     SecurityFilter securityFilter;
 
+    @Autowired
+    RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    ManagementPort managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -34,15 +42,32 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/refresh").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/introspect").hasAnyRole("ADMIN", "INTROSPECT")
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        // Only scrapers reach an unpublished management port; on the public port
+                        // the other actuator endpoints need an admin.
+                        .requestMatchers(request -> managementPort.matches(request.getLocalPort())).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, SecurityFilter.class);
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${api.security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${api.security.password.work-factor:0}") int workFactor,
+            @Value("${api.security.password.target-latency:100ms}") Duration targetLatency,
+            @Value("${api.security.password.bcrypt.min-strength:10}") int minStrength,
+            @Value("${api.security.password.bcrypt.max-strength:14}") int maxStrength,
+            @Value("${api.security.password.pbkdf2.min-iterations:310000}") int minIterations,
+            @Value("${api.security.password.pbkdf2.max-iterations:5000000}") int maxIterations) {
+        return CalibratedPasswordEncoder.configure(algorithm, workFactor, targetLatency, minStrength, maxStrength, minIterations, maxIterations);
     }
 
     @Bean
@@ -1,15 +1,19 @@
 package com.miguel.backend_login_page.infra.security;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.audit.AuthEventLog;
+import com.miguel.backend_login_page.infra.audit.AuthEventType;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
 import com.miguel.backend_login_page.repository.UserRepository;
 
 import jakarta.servlet.FilterChain;
@@ -26,38 +30,65 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private AuthMetrics metrics;
+
+    @Autowired
+    private TokenRevocationStore revocations;
+
+    @Autowired
+    private UserRoles roles;
+
+    @Autowired
+    private AuthEventLog eventLog;
+
+    @Value("${api.security.token.stateless:false}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
-        String token = recoverToken(request);
+        String authorization = request.getHeader("Authorization");
+        VerifiedToken verified = tokenService.verifyBearer(authorization);
 
-        if (token != null) {
-            String login = tokenService.valideteToken(token);
-
-            if (login != null) {
-                userRepository.findByEmail(login).ifPresent(user -> {
-                    var authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        if (verified != null && verified.subject() != null) {
+            if (revocations.isRevoked(verified.tokenId())) {
+                eventLog.append(AuthEventType.REVOKED_TOKEN, verified.subject(), request.getRemoteAddr());
+            } else {
+                resolvePrincipal(verified).ifPresent(principal -> {
                     var authentication =
-                            new UsernamePasswordAuthenticationToken(user, null, authorities);
+                            new UsernamePasswordAuthenticationToken(principal, verified, principal.authorities());
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 });
             }
+        } else if (authorization != null) {
+            eventLog.append(AuthEventType.INVALID_TOKEN, null, request.getRemoteAddr());
         }
 
         filterChain.doFilter(request, response);
     }
 
-    private String recoverToken(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return null;
+    /**
+     * In stateless mode a token that carries identity claims is trusted as-is, so no
+     * repository access happens. Tokens without those claims, and every token in the
+     * default mode, are resolved against the user table through the principal cache.
+     */
+    private Optional<AuthenticatedUser> resolvePrincipal(VerifiedToken verified) {
+        if (stateless && verified.user() != null) {
+            return Optional.of(verified.user());
         }
+        return principalCache.get(verified.subject(), verified.expiresAt(), this::findUser)
+                .map(user -> AuthenticatedUser.of(user, roles.of(user)));
+    }
 
-        return authHeader.substring(7);
+    private Optional<User> findUser(String email) {
+        return metrics.record(AuthMetrics.Stage.FILTER_USER_LOOKUP, () -> userRepository.findByEmail(email));
     }
 }
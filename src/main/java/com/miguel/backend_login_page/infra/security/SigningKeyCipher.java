@@ -0,0 +1,112 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts private signing keys with AES-256-GCM before they are stored, so a copy of the
+ * {@code token_signing_keys} table, a replica or a backup is not enough to mint tokens. The
+ * {@code kid} is bound in as associated data, so a ciphertext cannot be moved to another row.
+ * <p>
+ * Stored form: a version byte, the 12-byte nonce, then ciphertext and tag. An unencrypted
+ * PKCS#8 key starts with a DER {@code SEQUENCE} tag ({@code 0x30}), never the version byte,
+ * which is how rows written before encryption are recognised and re-encrypted.
+ * <p>
+ * A key encrypted under a different key-encryption key, for example after it was changed, does
+ * not decrypt; {@link SigningKeyRing} keeps such keys for verification only and rotates.
+ */
+final class SigningKeyCipher {
+
+    private static final byte VERSION = 1;
+    private static final byte DER_SEQUENCE = 0x30;
+    private static final int NONCE_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    private SigningKeyCipher(byte[] key) {
+        this.key = new SecretKeySpec(key, "AES");
+    }
+
+    /** A cipher for a base64-encoded 256-bit key-encryption key. */
+    static SigningKeyCipher fromBase64(String encryptionKey) {
+        byte[] key = Base64.getDecoder().decode(encryptionKey.trim());
+        if (key.length != 32) {
+            throw new IllegalStateException("The token key encryption key must be 32 bytes, base64-encoded");
+        }
+        return new SigningKeyCipher(key);
+    }
+
+    /** A cipher whose key is derived from another secret, for setups without a dedicated key. */
+    static SigningKeyCipher derivedFrom(String secret) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update("token-signing-key-encryption:".getBytes(StandardCharsets.UTF_8));
+            return new SigningKeyCipher(sha256.digest(secret.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("SHA-256 not available", exception);
+        }
+    }
+
+    static boolean isPlaintext(byte[] stored) {
+        return stored != null && stored.length > 0 && stored[0] == DER_SEQUENCE;
+    }
+
+    byte[] encrypt(String kid, byte[] privateKey) {
+        byte[] nonce = new byte[NONCE_BYTES];
+        random.nextBytes(nonce);
+        byte[] ciphertext;
+        try {
+            ciphertext = apply(Cipher.ENCRYPT_MODE, kid, nonce, privateKey);
+        } catch (AEADBadTagException impossible) {
+            throw new IllegalStateException(impossible);
+        }
+        byte[] stored = new byte[1 + NONCE_BYTES + ciphertext.length];
+        stored[0] = VERSION;
+        System.arraycopy(nonce, 0, stored, 1, NONCE_BYTES);
+        System.arraycopy(ciphertext, 0, stored, 1 + NONCE_BYTES, ciphertext.length);
+        return stored;
+    }
+
+    /**
+     * Returns the PKCS#8 key, passing through keys stored before encryption was added, or
+     * {@code null} if the key was encrypted under another key-encryption key.
+     */
+    byte[] decrypt(String kid, byte[] stored) {
+        if (isPlaintext(stored)) {
+            return stored;
+        }
+        if (stored.length <= 1 + NONCE_BYTES || stored[0] != VERSION) {
+            throw new IllegalStateException("Unknown encoding of token signing key " + kid);
+        }
+        byte[] nonce = Arrays.copyOfRange(stored, 1, 1 + NONCE_BYTES);
+        try {
+            return apply(Cipher.DECRYPT_MODE, kid, nonce, Arrays.copyOfRange(stored, 1 + NONCE_BYTES, stored.length));
+        } catch (AEADBadTagException wrongKey) {
+            return null;
+        }
+    }
+
+    private byte[] apply(int mode, String kid, byte[] nonce, byte[] input) throws AEADBadTagException {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, nonce));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(input);
+        } catch (AEADBadTagException wrongKey) {
+            throw wrongKey;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("AES-GCM failed on token signing key " + kid, exception);
+        }
+    }
+}
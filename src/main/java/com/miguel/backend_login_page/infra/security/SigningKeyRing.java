@@ -0,0 +1,485 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.miguel.backend_login_page.domain.token.TokenSigningKey;
+import com.miguel.backend_login_page.repository.TokenSigningKeyRepository;
+
+/**
+ * ES256 signing keys with overlapping rotation.
+ * <p>
+ * The ring always publishes three kinds of key: the <em>active</em> key that signs new tokens,
+ * the <em>next</em> key that will replace it, published one full rotation interval early so
+ * verifiers caching our JWKS already know it, and <em>retired</em> keys, kept until the
+ * longest-lived token they could have signed has expired. Keys are stored in the
+ * {@code token_signing_keys} table so every node and every restart signs with the same ring.
+ * Private keys are encrypted there (see {@link SigningKeyCipher}). Nodes change the table
+ * without a lock: a node whose update loses to another's on the row version re-reads the ring,
+ * and each check retires or deletes any extra active or next key that nodes racing on an empty
+ * table or a rotation left behind.
+ * <p>
+ * With {@code api.security.token.keys.keystore.path} set, the ring is read from that keystore
+ * instead (see {@link KeyStoreKeySource}) and keys are rotated by replacing the file. Its
+ * directory is watched, so a new file is picked up without a restart.
+ */
+@Component
+public class SigningKeyRing implements InitializingBean, DisposableBean {
+
+    public static final String ES256 = "ES256";
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyRing.class);
+    /** The {@code api.security.token.secret} in {@code application.properties}, known to anyone with the source. */
+    static final String DEFAULT_TOKEN_SECRET = "ronaldo";
+    /** Writers replace a keystore in several steps; events closer together than this are one change. */
+    private static final long WATCH_SETTLE_MILLIS = 250;
+
+    private final TokenSigningKeyRepository repository;
+    private final KeyStoreKeySource keyStore;
+    private final boolean enabled;
+    private final Duration rotationInterval;
+    private final Duration retention;
+    private final long reloadIntervalNanos;
+    private final List<TokenSigningKey> inMemoryKeys = new ArrayList<>();
+    private final SigningKeyCipher cipher;
+
+    private volatile Snapshot snapshot = new Snapshot(0, null, Map.of(), List.of());
+    private volatile long lastReloadNanos = System.nanoTime();
+    private volatile WatchService watchService;
+
+    public record Key(String kid, ECPublicKey publicKey, ECPrivateKey privateKey) {
+    }
+
+    /**
+     * Immutable view of the ring. {@code version} changes whenever the set of keys does.
+     */
+    public record Snapshot(long version, Key signingKey, Map<String, Key> byKid, List<Map<String, Object>> jwks) {
+    }
+
+    public SigningKeyRing(
+            TokenSigningKeyRepository repository,
+            @Value("${api.security.token.algorithm:ES256}") String algorithm,
+            @Value("${api.security.token.keys.rotation-interval:30d}") Duration rotationInterval,
+            @Value("${api.security.token.refresh-ttl:7d}") Duration retention,
+            @Value("${api.security.token.keys.reload-interval:30s}") Duration reloadInterval,
+            @Value("${api.security.token.keys.keystore.path:}") String keyStorePath,
+            @Value("${api.security.token.keys.keystore.type:PKCS12}") String keyStoreType,
+            @Value("${api.security.token.keys.keystore.password:}") String keyStorePassword,
+            @Value("${api.security.token.keys.keystore.activation-delay:10m}") Duration activationDelay,
+            @Value("${api.security.token.keys.encryption-key:}") String encryptionKey,
+            @Value("${api.security.token.secret:}") String tokenSecret) {
+        this.repository = repository;
+        this.enabled = ES256.equalsIgnoreCase(algorithm);
+        this.rotationInterval = rotationInterval;
+        this.retention = retention;
+        this.reloadIntervalNanos = reloadInterval.toNanos();
+        this.keyStore = keyStorePath.isBlank()
+                ? null
+                : new KeyStoreKeySource(Path.of(keyStorePath), keyStoreType, keyStorePassword, activationDelay, retention);
+        if (!encryptionKey.isBlank()) {
+            this.cipher = SigningKeyCipher.fromBase64(encryptionKey);
+        } else {
+            if (enabled && repository != null && keyStore == null && DEFAULT_TOKEN_SECRET.equals(tokenSecret)) {
+                throw new IllegalStateException("Refusing to store token signing keys encrypted with a key derived from "
+                        + "the shipped api.security.token.secret; set api.security.token.keys.encryption-key "
+                        + "(32 bytes, base64) or a secret of your own");
+            }
+            if (enabled && repository != null && keyStore == null) {
+                log.warn("api.security.token.keys.encryption-key is not set; token signing keys are encrypted with a key "
+                        + "derived from api.security.token.secret, so changing that secret rotates them. "
+                        + "Set a dedicated key in production");
+            }
+            this.cipher = SigningKeyCipher.derivedFrom(tokenSecret);
+        }
+    }
+
+    /** A ring that keeps its keys in memory only, for tests and benchmarks. */
+    public static SigningKeyRing inMemory(Duration rotationInterval, Duration retention) {
+        SigningKeyRing ring = new SigningKeyRing(null, ES256, rotationInterval, retention, Duration.ZERO,
+                "", "PKCS12", "", Duration.ZERO, "", "");
+        ring.afterPropertiesSet();
+        return ring;
+    }
+
+    /** A ring read from a keystore and watched for changes until {@link #destroy()}. */
+    public static SigningKeyRing fromKeyStore(Path path, String type, String password, Duration activationDelay,
+            Duration retention) {
+        SigningKeyRing ring = new SigningKeyRing(null, ES256, Duration.ZERO, retention, Duration.ZERO,
+                path.toString(), type, password, activationDelay, "", "");
+        ring.afterPropertiesSet();
+        return ring;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        if (keyStore != null) {
+            // Fails startup on an unreadable file; later failures keep the last good ring.
+            Instant now = Instant.now();
+            publish(keyStore.load(now), now);
+            log.info("Token signing keys read from {}, active key {}", keyStore.path(), snapshot.signingKey().kid());
+            startWatcher();
+        } else {
+            maintain();
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        WatchService watcher = watchService;
+        if (watcher != null) {
+            watchService = null;
+            watcher.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Re-reads the ring after a token named a {@code kid} we do not know, which happens when
+     * another node rotated first. Reloads are spaced by the reload interval so a flood of
+     * forged kids cannot turn into a flood of queries.
+     *
+     * @return {@code true} if the ring was reloaded
+     */
+    public boolean reloadForUnknownKid() {
+        if (!enabled || System.nanoTime() - lastReloadNanos < reloadIntervalNanos) {
+            return false;
+        }
+        synchronized (this) {
+            if (System.nanoTime() - lastReloadNanos < reloadIntervalNanos) {
+                return false;
+            }
+            if (keyStore != null) {
+                reloadKeyStore();
+            } else {
+                publish(findAll(), Instant.now());
+            }
+            return true;
+        }
+    }
+
+    /** Retires the active key now and promotes the published next key. */
+    public synchronized void rotate() {
+        if (keyStore != null) {
+            throw new IllegalStateException("Token keys read from a keystore are rotated by replacing " + keyStore.path());
+        }
+        if (enabled) {
+            maintain(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.token.keys.check-interval:1h}",
+            initialDelayString = "${api.security.token.keys.check-interval:1h}")
+    public synchronized void maintain() {
+        if (!enabled) {
+            return;
+        }
+        if (keyStore != null) {
+            reloadKeyStore();
+        } else {
+            maintain(false);
+        }
+    }
+
+    private synchronized void reloadKeyStore() {
+        String previous = snapshot.signingKey().kid();
+        try {
+            Instant now = Instant.now();
+            publish(keyStore.load(now), now);
+        } catch (IllegalStateException exception) {
+            lastReloadNanos = System.nanoTime();
+            log.warn("Keeping the current token signing keys: {}", exception.getMessage());
+            return;
+        }
+        String current = snapshot.signingKey().kid();
+        if (!current.equals(previous)) {
+            log.info("Token signing key {} is now active, retired {}", current, previous);
+        }
+    }
+
+    private void startWatcher() {
+        Path directory = keyStore.path().toAbsolutePath().getParent();
+        try {
+            WatchService watcher = directory.getFileSystem().newWatchService();
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            watchService = watcher;
+        } catch (IOException exception) {
+            throw new IllegalStateException("Cannot watch " + directory + " for token keystore changes", exception);
+        }
+        Thread thread = new Thread(this::watchLoop, "signing-key-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reloads on any change in the keystore's directory, which also covers files mounted through
+     * a symlink swap, and when the next scheduled activation or expiry in the file comes due.
+     */
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchService watcher = watchService;
+                if (watcher == null) {
+                    return;
+                }
+                Instant due = keyStore.nextChange();
+                WatchKey key = due == null
+                        ? watcher.take()
+                        : watcher.poll(Math.max(1, Duration.between(Instant.now(), due).toMillis()), TimeUnit.MILLISECONDS);
+                while (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                    key = watcher.poll(WATCH_SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                reloadKeyStore();
+            }
+        } catch (ClosedWatchServiceException closed) {
+            // destroy() closed the watcher.
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void maintain(boolean force) {
+        Instant now = Instant.now();
+        List<TokenSigningKey> keys = findAll();
+        List<TokenSigningKey> changed = new ArrayList<>();
+        List<TokenSigningKey> removed = new ArrayList<>();
+
+        // Nodes racing on an empty table or a rotation can each add keys. Only the newest active
+        // and next key are kept in their role; the other actives are retired and the other next
+        // keys, which never signed anything, are deleted.
+        List<TokenSigningKey> actives = keys.stream()
+                .filter(key -> key.getActivatedAt() != null && key.getRetiredAt() == null)
+                .sorted(Comparator.comparing(TokenSigningKey::getActivatedAt).reversed())
+                .toList();
+        TokenSigningKey active = actives.isEmpty() ? null : actives.get(0);
+        actives.stream().skip(1).forEach(superseded -> {
+            superseded.setRetiredAt(now);
+            changed.add(superseded);
+        });
+        List<TokenSigningKey> nexts = keys.stream()
+                .filter(key -> key.getActivatedAt() == null)
+                .sorted(Comparator.comparing(TokenSigningKey::getCreatedAt).reversed())
+                .toList();
+        TokenSigningKey next = nexts.isEmpty() ? null : nexts.get(0);
+        nexts.stream().skip(1).forEach(removed::add);
+        // After the encryption key changed, keys under the old one can no longer sign: replace
+        // the next key and rotate away from the active one.
+        if (next != null && !canSign(next)) {
+            removed.add(next);
+            next = null;
+        }
+        boolean activeCannotSign = active != null && !canSign(active);
+        keys.removeAll(removed);
+
+        // Rows written before private keys were encrypted.
+        for (TokenSigningKey key : keys) {
+            if (SigningKeyCipher.isPlaintext(key.getPrivateKey())) {
+                key.setPrivateKey(cipher.encrypt(key.getKid(), key.getPrivateKey()));
+                if (!changed.contains(key)) {
+                    changed.add(key);
+                }
+            }
+        }
+
+        if (force || active == null || activeCannotSign || !active.getActivatedAt().plus(rotationInterval).isAfter(now)) {
+            if (next == null) {
+                next = generate(now);
+                keys.add(next);
+            }
+            if (active != null) {
+                active.setRetiredAt(now);
+                if (!changed.contains(active)) {
+                    changed.add(active);
+                }
+            }
+            next.setActivatedAt(now);
+            if (!changed.contains(next)) {
+                changed.add(next);
+            }
+            log.info("Token signing key {} is now active{}", next.getKid(),
+                    active != null ? ", retired " + active.getKid() : "");
+            next = null;
+        }
+        if (next == null) {
+            next = generate(now);
+            keys.add(next);
+            changed.add(next);
+        }
+
+        List<TokenSigningKey> expired = keys.stream()
+                .filter(key -> key.getRetiredAt() != null && !key.getRetiredAt().plus(retention).isAfter(now))
+                .toList();
+        keys.removeAll(expired);
+        removed.addAll(expired);
+        changed.removeAll(expired);
+        try {
+            save(changed);
+            delete(removed);
+        } catch (OptimisticLockingFailureException concurrent) {
+            log.info("Another node changed the token signing keys first; reloading them");
+            publish(findAll(), now);
+            return;
+        }
+        publish(keys, now);
+    }
+
+    private boolean canSign(TokenSigningKey key) {
+        return key.getPrivateKey() != null && cipher.decrypt(key.getKid(), key.getPrivateKey()) != null;
+    }
+
+    private void publish(List<TokenSigningKey> keys, Instant now) {
+        Map<String, Key> byKid = new HashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        Key signing = null;
+        Instant signingActivatedAt = null;
+        for (TokenSigningKey stored : keys) {
+            if (stored.getRetiredAt() != null && !stored.getRetiredAt().plus(retention).isAfter(now)) {
+                continue;
+            }
+            Key key = decode(stored);
+            byKid.put(key.kid(), key);
+            jwks.add(toJwk(key));
+            if (stored.getActivatedAt() != null && stored.getRetiredAt() == null && key.privateKey() != null
+                    && (signingActivatedAt == null || stored.getActivatedAt().isAfter(signingActivatedAt))) {
+                signing = key;
+                signingActivatedAt = stored.getActivatedAt();
+            }
+        }
+        Snapshot previous = snapshot;
+        if (signing != null && previous.signingKey() != null && signing.kid().equals(previous.signingKey().kid())
+                && byKid.keySet().equals(previous.byKid().keySet())) {
+            lastReloadNanos = System.nanoTime();
+            return;
+        }
+        snapshot = new Snapshot(previous.version() + 1, signing, Map.copyOf(byKid), List.copyOf(jwks));
+        lastReloadNanos = System.nanoTime();
+    }
+
+    private List<TokenSigningKey> findAll() {
+        return repository != null ? new ArrayList<>(repository.findAll()) : new ArrayList<>(inMemoryKeys);
+    }
+
+    private void save(List<TokenSigningKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (repository != null) {
+            repository.saveAll(keys);
+        } else {
+            for (TokenSigningKey key : keys) {
+                if (!inMemoryKeys.contains(key)) {
+                    inMemoryKeys.add(key);
+                }
+            }
+        }
+    }
+
+    private void delete(List<TokenSigningKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (repository != null) {
+            repository.deleteAll(keys);
+        } else {
+            inMemoryKeys.removeAll(keys);
+        }
+    }
+
+    private TokenSigningKey generate(Instant now) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair pair = generator.generateKeyPair();
+            String kid = UUID.randomUUID().toString();
+            return new TokenSigningKey(kid, ES256, pair.getPublic().getEncoded(),
+                    cipher.encrypt(kid, pair.getPrivate().getEncoded()), now, null, null, null);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Cannot generate an ES256 key pair", exception);
+        }
+    }
+
+    private Key decode(TokenSigningKey stored) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            ECPublicKey publicKey = (ECPublicKey) factory.generatePublic(new X509EncodedKeySpec(stored.getPublicKey()));
+            byte[] pkcs8 = stored.getPrivateKey() != null ? cipher.decrypt(stored.getKid(), stored.getPrivateKey()) : null;
+            if (stored.getPrivateKey() != null && pkcs8 == null) {
+                log.warn("Token signing key {} was encrypted with another encryption key; using it to verify only",
+                        stored.getKid());
+            }
+            ECPrivateKey privateKey = pkcs8 != null
+                    ? (ECPrivateKey) factory.generatePrivate(new PKCS8EncodedKeySpec(pkcs8))
+                    : null;
+            return new Key(stored.getKid(), publicKey, privateKey);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Unreadable token signing key " + stored.getKid(), exception);
+        }
+    }
+
+    private static Map<String, Object> toJwk(Key key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", ES256);
+        jwk.put("x", coordinate(key.publicKey().getW().getAffineX()));
+        jwk.put("y", coordinate(key.publicKey().getW().getAffineY()));
+        return jwk;
+    }
+
+    private static String coordinate(BigInteger value) {
+        // JWK coordinates are fixed-width, unsigned big-endian: 32 bytes for P-256.
+        byte[] raw = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(raw.length, 32);
+        System.arraycopy(raw, raw.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
@@ -0,0 +1,152 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies batches of access tokens for {@code POST /auth/introspect}.
+ * <p>
+ * Every token goes through {@link TokenService#verifyToken}, so a token the service has seen
+ * recently is answered from the verified-token cache and the rest are checked with the per-kid
+ * verifiers it already holds. A batch is cut into one slice per thread: the caller verifies the
+ * first slice while a pool sized to the cores takes the others. When the pool's queue is full
+ * the caller verifies the slice itself. Batches smaller than {@code parallel-threshold} are
+ * verified inline, where handing off would cost more than it saves.
+ */
+@Component
+public class TokenIntrospector implements DisposableBean {
+
+    /** What a gateway learns about one token. Inactive results carry nothing else. */
+    public record Result(boolean active, String subject, Instant expiresAt) {
+
+        public static final Result INACTIVE = new Result(false, null, null);
+    }
+
+    private final TokenService tokenService;
+    private final TokenRevocationStore revocations;
+    private final int parallelism;
+    private final int parallelThreshold;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder active = new LongAdder();
+    private final LongAdder inactive = new LongAdder();
+
+    public TokenIntrospector(
+            TokenService tokenService,
+            TokenRevocationStore revocations,
+            @Value("${api.security.introspection.threads:0}") int threads,
+            @Value("${api.security.introspection.parallel-threshold:64}") int parallelThreshold) {
+        this.tokenService = tokenService;
+        this.revocations = revocations;
+        this.parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.parallelThreshold = Math.max(2, parallelThreshold);
+        this.executor = parallelism > 1
+                ? new ThreadPoolExecutor(
+                        parallelism - 1, parallelism - 1,
+                        0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(parallelism * 4),
+                        new IntrospectionThreadFactory(),
+                        new ThreadPoolExecutor.CallerRunsPolicy())
+                : null;
+    }
+
+    /**
+     * Verifies {@code tokens} into the first {@code tokens.size()} elements of {@code results},
+     * in the same order.
+     */
+    public void introspect(List<String> tokens, Result[] results) {
+        int size = tokens.size();
+        int slices = executor == null || size < parallelThreshold ? 1 : parallelism;
+        if (slices == 1) {
+            verify(tokens, 0, size, results);
+            return;
+        }
+
+        int sliceSize = (size + slices - 1) / slices;
+        List<Future<?>> others = new ArrayList<>(slices - 1);
+        for (int from = sliceSize; from < size; from += sliceSize) {
+            int start = from;
+            int end = Math.min(size, from + sliceSize);
+            others.add(executor.submit(() -> verify(tokens, start, end, results)));
+        }
+        verify(tokens, 0, sliceSize, results);
+
+        for (Future<?> future : others) {
+            try {
+                future.get();
+            } catch (InterruptedException exception) {
+                others.forEach(other -> other.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while introspecting tokens", exception);
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Token introspection failed", cause);
+            }
+        }
+    }
+
+    public Result introspect(String token) {
+        VerifiedToken verified = tokenService.verifyToken(token);
+        if (verified == null || verified.subject() == null || revocations.isRevoked(verified.tokenId())) {
+            inactive.increment();
+            return Result.INACTIVE;
+        }
+        active.increment();
+        return new Result(true, verified.subject(), verified.expiresAt());
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public long getActiveCount() {
+        return active.sum();
+    }
+
+    public long getInactiveCount() {
+        return inactive.sum();
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void verify(List<String> tokens, int from, int to, Result[] results) {
+        for (int i = from; i < to; i++) {
+            results[i] = introspect(tokens.get(i));
+        }
+    }
+
+    private static final class IntrospectionThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "token-introspection-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
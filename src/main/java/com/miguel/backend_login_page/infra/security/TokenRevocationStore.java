@@ -0,0 +1,130 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.miguel.backend_login_page.domain.token.RevokedToken;
+import com.miguel.backend_login_page.repository.RevokedTokenRepository;
+
+/**
+ * Denylist of token ids ({@code jti}) revoked before their expiry.
+ * <p>
+ * Lookups, which happen on every authenticated request, only touch the in-memory
+ * {@link RevocationSet}. Revocations are inserted into the {@code revoked_tokens} table, which
+ * is loaded when the application starts and polled for other nodes' revocations every
+ * {@code sync-interval}. The insert decides who revoked an id first: on every node but that
+ * one it fails on the primary key, which is how a refresh token replayed elsewhere is caught.
+ * Entries leave memory and the table once the token they refer to has expired.
+ */
+@Component
+public class TokenRevocationStore implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    /**
+     * How far each poll reaches back before the previous one, to cover rows committed late and
+     * clock differences between nodes. Re-reading a row is harmless.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository repository;
+    private final RevocationSet revoked;
+    private volatile Instant lastSync = Instant.now();
+
+    public TokenRevocationStore(
+            RevokedTokenRepository repository,
+            @Value("${api.security.revocation.tick:1m}") Duration tick,
+            @Value("${api.security.revocation.wheel-slots:1024}") int wheelSlots) {
+        this.repository = repository;
+        this.revoked = new RevocationSet(tick, wheelSlots);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // Loaded before the web server starts, so no request sees a half-loaded denylist.
+        Instant now = Instant.now();
+        int loaded = 0;
+        for (RevokedToken token : repository.findByExpiresAtAfter(now)) {
+            revoked.add(fingerprint(token.getJti()), token.getExpiresAt().toEpochMilli());
+            loaded++;
+        }
+        lastSync = now;
+        log.info("Loaded {} revoked token ids", loaded);
+    }
+
+    /** Picks up revocations made on other nodes since the previous poll. */
+    @Scheduled(fixedDelayString = "${api.security.revocation.sync-interval:5s}",
+            initialDelayString = "${api.security.revocation.sync-interval:5s}")
+    public void sync() {
+        Instant now = Instant.now();
+        for (RevokedToken token : repository.findByRevokedAtAfterAndExpiresAtAfter(lastSync.minus(SYNC_OVERLAP), now)) {
+            revoked.add(fingerprint(token.getJti()), token.getExpiresAt().toEpochMilli());
+        }
+        lastSync = now;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.contains(fingerprint(tokenId));
+    }
+
+    /**
+     * Revokes a token id until {@code expiresAt}.
+     *
+     * @return {@code false} if the id was already revoked, on this node or any other, or the
+     *         token has already expired, which lets refresh-token rotation detect reuse
+     */
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return false;
+        }
+        long fingerprint = fingerprint(tokenId);
+        if (revoked.contains(fingerprint)) {
+            return false;
+        }
+        try {
+            repository.insert(tokenId, expiresAt, Instant.now());
+        } catch (DataIntegrityViolationException alreadyRevoked) {
+            revoked.add(fingerprint, expiresAt.toEpochMilli());
+            return false;
+        }
+        revoked.add(fingerprint, expiresAt.toEpochMilli());
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.revocation.tick:1m}",
+            initialDelayString = "${api.security.revocation.tick:1m}")
+    public void expire() {
+        Instant now = Instant.now();
+        revoked.advance(now.toEpochMilli());
+        repository.deleteExpired(now);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    static long fingerprint(String tokenId) {
+        // Token ids are random UUIDs, so folding the two halves keeps 64 well-mixed bits.
+        try {
+            UUID uuid = UUID.fromString(tokenId);
+            return uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+        } catch (IllegalArgumentException notUuid) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : tokenId.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
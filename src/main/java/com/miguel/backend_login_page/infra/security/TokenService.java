@@ -1,52 +1,434 @@
 package com.miguel.backend_login_page.infra.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
 
 @Service
 public class TokenService {
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private static final String ISSUER = "login-athu-api";
+    private static final String TOKEN_USE_CLAIM = "token_use";
+    private static final String REFRESH_TOKEN_USE = "refresh";
+    private static final String HMAC_KID = "";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String NAME_CLAIM = "name";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthMetrics metrics;
+    private final MessageDigest digestPrototype;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+    private final Duration verifiedCacheTtl;
+    private final Cache<TokenDigest, VerifiedToken> verifiedTokens;
+    private final SigningKeyRing keyRing;
+    private final UserRoles roles;
+    private final CompactTokenVerifier compactVerifier;
+    private final CompactTokenVerifier.KeyResolver compactKeys = this::compactKey;
+    private volatile Keys keys;
+
+    /** HMAC-only service for code constructed outside of Spring. */
+    public TokenService(
+            AuthMetrics metrics,
+            String secret,
+            Duration accessTokenTtl,
+            Duration refreshTokenTtl,
+            boolean verifiedCacheEnabled,
+            long verifiedCacheMaxSize,
+            Duration verifiedCacheTtl) {
+        this(metrics, null, new UserRoles(), secret, accessTokenTtl, refreshTokenTtl, true, verifiedCacheEnabled, verifiedCacheMaxSize, verifiedCacheTtl);
+    }
+
+    @Autowired
+    public TokenService(
+            AuthMetrics metrics,
+            SigningKeyRing keyRing,
+            UserRoles roles,
+            @Value("${api.security.token.secret}") String secret,
+            @Value("${api.security.token.access-ttl:15m}") Duration accessTokenTtl,
+            @Value("${api.security.token.refresh-ttl:7d}") Duration refreshTokenTtl,
+            @Value("${api.security.token.fast-path:true}") boolean fastPath,
+            @Value("${api.security.token.verified-cache.enabled:true}") boolean verifiedCacheEnabled,
+            @Value("${api.security.token.verified-cache.max-size:50000}") long verifiedCacheMaxSize,
+            @Value("${api.security.token.verified-cache.ttl:60s}") Duration verifiedCacheTtl) {
+        this.metrics = metrics;
+        this.roles = roles;
+        this.keyRing = keyRing != null && keyRing.isEnabled() ? keyRing : null;
+        this.keys = this.keyRing != null ? Keys.of(this.keyRing.snapshot(), Map.of()) : Keys.hmac(secret);
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+        this.compactVerifier = fastPath ? new CompactTokenVerifier(ISSUER) : null;
+        this.verifiedCacheTtl = verifiedCacheTtl;
+        this.verifiedTokens = verifiedCacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheMaxSize)
+                        .expireAfter(new TokenExpiry())
+                        .recordStats()
+                        .build()
+                : null;
+        try {
+            this.digestPrototype = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 not available", exception);
+        }
+    }
 
     public String generateToken(User user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
+            String token = metrics.record(AuthMetrics.Stage.TOKEN_SIGN, () -> {
+                Keys current = currentKeys();
+                return builder(current)
+                        .withSubject(user.getEmail())
+                        .withJWTId(UUID.randomUUID().toString())
+                        .withClaim(USER_ID_CLAIM, user.getId())
+                        .withClaim(NAME_CLAIM, user.getName())
+                        .withClaim(ROLES_CLAIM, roles.of(user))
+                        .withExpiresAt(this.generatexpiresDate(accessTokenTtl))
+                        .sign(current.signingAlgorithm());
+            });
+            return token;
+        } catch (JWTCreationException exception) {
+            throw new RuntimeException("Error while authenticating");
+        }
+    }
 
-            String token = JWT.create()
-                    .withIssuer("login-athu-api")
+    /**
+     * Issues a long-lived token that can only be exchanged at {@code /auth/refresh}; the
+     * {@code token_use} claim keeps it from being accepted as an access token.
+     */
+    public String generateRefreshToken(User user) {
+        try {
+            Keys current = currentKeys();
+            return builder(current)
                     .withSubject(user.getEmail())
-                    .withExpiresAt(this.generatexpiresDate())
-                    .sign(algorithm);
-            return token;
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withClaim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE)
+                    .withExpiresAt(this.generatexpiresDate(refreshTokenTtl))
+                    .sign(current.signingAlgorithm());
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error while authenticating");
         }
     }
 
+    /** Verifies a refresh token. Refresh is rare, so these are not cached. */
+    public VerifiedToken verifyRefreshToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            DecodedJWT decoded = JWT.decode(token);
+            KidVerifier key = verifierFor(decoded.getKeyId());
+            if (key == null) {
+                return null;
+            }
+            key.refreshVerifier().verify(decoded);
+            return new VerifiedToken(decoded.getSubject(), decoded.getExpiresAtAsInstant(), decoded.getId());
+        } catch (JWTVerificationException exception) {
+            return null;
+        }
+    }
+
     public String valideteToken(String token){
+        VerifiedToken verified = verifyToken(token);
+        return verified != null ? verified.subject() : null;
+    }
+
+    /**
+     * Verifies the token in an {@code Authorization: Bearer} header value, or returns
+     * {@code null} if there is none. The fast path reads the token in place, so the header is
+     * never copied into a substring.
+     */
+    public VerifiedToken verifyBearer(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return compactVerifier != null
+                ? verifyCompact(authorization, BEARER_PREFIX.length())
+                : verifyToken(authorization.substring(BEARER_PREFIX.length()));
+    }
+
+    public VerifiedToken verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        if (compactVerifier != null) {
+            return verifyCompact(token, 0);
+        }
+        if (verifiedTokens == null) {
+            return verifySignature(token);
+        }
+
+        TokenDigest digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            if (cached.expiresAt() == null || cached.expiresAt().isAfter(Instant.now())) {
+                return cached;
+            }
+            verifiedTokens.invalidate(digest);
+            return null;
+        }
+
+        VerifiedToken verified = verifySignature(token);
+        if (verified != null) {
+            verifiedTokens.put(digest, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Replaces the HMAC secret. The algorithm and verifier are rebuilt only when the
+     * secret actually changes, and previously verified tokens are forgotten. With ES256 the
+     * keys belong to {@link SigningKeyRing} and are rotated there instead.
+     */
+    public void updateSecret(String secret) {
+        if (keyRing != null) {
+            throw new IllegalStateException("Token keys are managed by the signing key ring");
+        }
+        if (secret.equals(keys.secret())) {
+            return;
+        }
+        keys = Keys.hmac(secret);
+        if (verifiedTokens != null) {
+            verifiedTokens.invalidateAll();
+        }
+    }
+
+    public CacheStats verifiedCacheStats() {
+        return verifiedTokens != null ? verifiedTokens.stats() : CacheStats.empty();
+    }
+
+    public long verifiedCacheSize() {
+        return verifiedTokens != null ? verifiedTokens.estimatedSize() : 0;
+    }
+
+    private VerifiedToken verifyCompact(String source, int start) {
+        try (CompactTokenVerifier.Scratch scratch = CompactTokenVerifier.load(source, start)) {
+            if (scratch == null) {
+                return null;
+            }
+            if (verifiedTokens == null) {
+                return verifyCompact(scratch);
+            }
+
+            TokenDigest digest = TokenDigest.of(scratch.digest());
+            VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+            if (cached != null) {
+                if (cached.expiresAt() == null || cached.expiresAt().toEpochMilli() > System.currentTimeMillis()) {
+                    return cached;
+                }
+                verifiedTokens.invalidate(digest);
+                return null;
+            }
+
+            VerifiedToken verified = verifyCompact(scratch);
+            if (verified != null) {
+                verifiedTokens.put(digest, verified);
+            }
+            return verified;
+        }
+    }
+
+    private VerifiedToken verifyCompact(CompactTokenVerifier.Scratch scratch) {
+        // Timed by hand: a Supplier capturing the scratch buffer would allocate per call.
+        long start = System.nanoTime();
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("login-athu-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            return compactVerifier.verify(scratch, compactKeys, System.currentTimeMillis());
+        } finally {
+            metrics.timer(AuthMetrics.Stage.TOKEN_VERIFY).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Same lookup as {@link #verifierFor(String)}, over the raw kid bytes of the header. */
+    private CompactTokenVerifier.Key compactKey(byte[] buffer, int kidOffset, int kidLength) {
+        CompactTokenVerifier.Key key = currentKeys().find(buffer, kidOffset, kidLength);
+        if (key == null && kidLength >= 0 && keyRing != null && keyRing.reloadForUnknownKid()) {
+            key = currentKeys().find(buffer, kidOffset, kidLength);
+        }
+        return key;
+    }
+
+    private VerifiedToken verifySignature(String token) {
+        return metrics.record(AuthMetrics.Stage.TOKEN_VERIFY, () -> verifySignatureUntimed(token));
+    }
+
+    private VerifiedToken verifySignatureUntimed(String token) {
+        try {
+            DecodedJWT decoded = JWT.decode(token);
+            KidVerifier key = verifierFor(decoded.getKeyId());
+            if (key == null) {
+                return null;
+            }
+            key.verifier().verify(decoded);
+            if (!decoded.getClaim(TOKEN_USE_CLAIM).isMissing()) {
+                return null;
+            }
+            return new VerifiedToken(decoded.getSubject(), decoded.getExpiresAtAsInstant(), decoded.getId(), identity(decoded));
         } catch (JWTVerificationException exception) {
             return null;
         }
     }
 
-    private Instant generatexpiresDate() {
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+    private static AuthenticatedUser identity(DecodedJWT decoded) {
+        String userId = decoded.getClaim(USER_ID_CLAIM).asString();
+        List<String> tokenRoles = decoded.getClaim(ROLES_CLAIM).asList(String.class);
+        if (userId == null || tokenRoles == null) {
+            return null;
+        }
+        return AuthenticatedUser.of(userId, decoded.getSubject(), decoded.getClaim(NAME_CLAIM).asString(), tokenRoles);
+    }
+
+    private JWTCreator.Builder builder(Keys current) {
+        JWTCreator.Builder builder = JWT.create().withIssuer(ISSUER);
+        return current.signingKid() != null ? builder.withKeyId(current.signingKid()) : builder;
+    }
+
+    /**
+     * Verifiers are cached per {@code kid}. A kid we have never seen triggers one throttled
+     * reload of the key ring, in case another node rotated first.
+     */
+    private KidVerifier verifierFor(String kid) {
+        KidVerifier verifier = currentKeys().byKid().get(kid != null ? kid : HMAC_KID);
+        if (verifier == null && kid != null && keyRing != null && keyRing.reloadForUnknownKid()) {
+            verifier = currentKeys().byKid().get(kid);
+        }
+        return verifier;
+    }
+
+    private Keys currentKeys() {
+        Keys current = keys;
+        if (keyRing != null) {
+            SigningKeyRing.Snapshot snapshot = keyRing.snapshot();
+            if (snapshot.version() != current.version()) {
+                current = Keys.of(snapshot, current.byKid());
+                keys = current;
+            }
+        }
+        return current;
+    }
+
+    private TokenDigest digest(String token) {
+        MessageDigest md;
+        try {
+            md = (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException exception) {
+            throw new IllegalStateException("SHA-256 digest is not cloneable", exception);
+        }
+        return TokenDigest.of(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private Instant generatexpiresDate(Duration ttl) {
+        return Instant.now().plus(ttl);
+    }
+
+    private record Keys(long version, String signingKid, Algorithm signingAlgorithm, String secret,
+            Map<String, KidVerifier> byKid, CompactTokenVerifier.Key[] compactKeys) {
+
+        Keys(long version, String signingKid, Algorithm signingAlgorithm, String secret, Map<String, KidVerifier> byKid) {
+            this(version, signingKid, signingAlgorithm, secret, byKid,
+                    byKid.values().stream().map(KidVerifier::compactKey).toArray(CompactTokenVerifier.Key[]::new));
+        }
+
+        static Keys hmac(String secret) {
+            KidVerifier key = KidVerifier.of(Algorithm.HMAC256(secret), CompactTokenVerifier.Key.hmac(secret));
+            return new Keys(0, null, key.algorithm(), secret, Map.of(HMAC_KID, key));
+        }
+
+        /** A handful of keys at most, so a scan beats hashing the kid into a String. */
+        CompactTokenVerifier.Key find(byte[] buffer, int kidOffset, int kidLength) {
+            for (CompactTokenVerifier.Key key : compactKeys) {
+                if (key.kidMatches(buffer, kidOffset, kidLength)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+
+        /** Builds verifiers for new kids only; those for kids still in the ring are reused. */
+        static Keys of(SigningKeyRing.Snapshot snapshot, Map<String, KidVerifier> previous) {
+            Map<String, KidVerifier> byKid = new HashMap<>();
+            for (SigningKeyRing.Key key : snapshot.byKid().values()) {
+                KidVerifier existing = previous.get(key.kid());
+                byKid.put(key.kid(), existing != null
+                        ? existing
+                        : KidVerifier.of(Algorithm.ECDSA256(key.publicKey(), key.privateKey()),
+                                CompactTokenVerifier.Key.ecdsa(key.kid(), key.publicKey())));
+            }
+            SigningKeyRing.Key signing = snapshot.signingKey();
+            return new Keys(snapshot.version(),
+                    signing != null ? signing.kid() : null,
+                    signing != null ? byKid.get(signing.kid()).algorithm() : null,
+                    null,
+                    Map.copyOf(byKid));
+        }
+    }
+
+    private record KidVerifier(Algorithm algorithm, JWTVerifier verifier, JWTVerifier refreshVerifier,
+            CompactTokenVerifier.Key compactKey) {
+        static KidVerifier of(Algorithm algorithm, CompactTokenVerifier.Key compactKey) {
+            return new KidVerifier(algorithm,
+                    JWT.require(algorithm).withIssuer(ISSUER).build(),
+                    JWT.require(algorithm).withIssuer(ISSUER).withClaim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE).build(),
+                    compactKey);
+        }
+    }
+
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+        static TokenDigest of(byte[] hash) {
+            return new TokenDigest(longAt(hash, 0), longAt(hash, 8), longAt(hash, 16), longAt(hash, 24));
+        }
+
+        private static long longAt(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = offset; i < offset + Long.BYTES; i++) {
+                value = value << 8 | (bytes[i] & 0xff);
+            }
+            return value;
+        }
+    }
+
+    private final class TokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return verifiedCacheTtl.toNanos();
+            }
+            long untilExpiry = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+            return Math.max(0, Math.min(verifiedCacheTtl.toNanos(), untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,36 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.miguel.backend_login_page.domain.user.User;
+
+/**
+ * Decides which roles an account holds. Everyone is {@code ROLE_USER}; the rest come from the
+ * {@code users.roles} column, which only an operator sets: {@link #ADMIN_BIT} adds
+ * {@code ROLE_ADMIN} and {@link #INTROSPECT_BIT} (API gateways) adds {@code ROLE_INTROSPECT}.
+ * Registration and the bulk import always store {@code 0}, so nothing a caller sends, such as
+ * the email it signs up with, can grant a role.
+ */
+@Component
+public class UserRoles {
+
+    public static final String USER = "ROLE_USER";
+    public static final String ADMIN = "ROLE_ADMIN";
+    public static final String INTROSPECT = "ROLE_INTROSPECT";
+
+    public static final int ADMIN_BIT = 1;
+    public static final int INTROSPECT_BIT = 2;
+
+    /** Every combination, indexed by role bits, so {@link #of} never allocates. */
+    private static final List<List<String>> COMBINATIONS = List.of(
+            List.of(USER),
+            List.of(USER, ADMIN),
+            List.of(USER, INTROSPECT),
+            List.of(USER, ADMIN, INTROSPECT));
+
+    public List<String> of(User user) {
+        return COMBINATIONS.get(user.getRoles() & (ADMIN_BIT | INTROSPECT_BIT));
+    }
+}
@@ -0,0 +1,14 @@
+package com.miguel.backend_login_page.infra.security;
+
+import java.time.Instant;
+
+/**
+ * A token whose signature and expiry have been checked. {@code user} is filled in from the
+ * identity claims when the token carries them, and is {@code null} for older tokens.
+ */
+public record VerifiedToken(String subject, Instant expiresAt, String tokenId, AuthenticatedUser user) {
+
+    public VerifiedToken(String subject, Instant expiresAt, String tokenId) {
+        this(subject, expiresAt, tokenId, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.miguel.backend_login_page.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.miguel.backend_login_page.domain.token.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(Instant since, Instant now);
+
+    /**
+     * Plain insert, unlike {@code save}, which would merge into an existing row. A second
+     * revocation of the same id fails with {@link org.springframework.dao.DataIntegrityViolationException}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into revoked_tokens (jti, expires_at, revoked_at) values (:jti, :expiresAt, :revokedAt)",
+            nativeQuery = true)
+    int insert(@Param("jti") String jti, @Param("expiresAt") Instant expiresAt, @Param("revokedAt") Instant revokedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
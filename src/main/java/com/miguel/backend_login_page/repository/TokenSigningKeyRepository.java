@@ -0,0 +1,20 @@
+package com.miguel.backend_login_page.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.miguel.backend_login_page.domain.token.TokenSigningKey;
+
+public interface TokenSigningKeyRepository extends JpaRepository<TokenSigningKey, String> {
+
+    /**
+     * Read-write so it is served by the primary even with replicas configured: the ring
+     * decides whether to generate keys from this read, and a lagging replica would make
+     * every node mint its own.
+     */
+    @Override
+    @Transactional
+    List<TokenSigningKey> findAll();
+}
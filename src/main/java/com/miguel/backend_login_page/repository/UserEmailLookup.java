@@ -0,0 +1,13 @@
+package com.miguel.backend_login_page.repository;
+
+import java.util.Optional;
+
+import com.miguel.backend_login_page.domain.user.User;
+
+/**
+ * Lookup of users by their natural id. It is a repository fragment so that callers keep
+ * using {@code UserRepository.findByEmail}.
+ */
+public interface UserEmailLookup {
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,71 @@
+package com.miguel.backend_login_page.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.persistence.RecentUserWrites;
+import com.miguel.backend_login_page.infra.persistence.ReplicaRoutingDataSource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Resolves emails through Hibernate's natural-id API, which consults the second-level cache
+ * before issuing SQL. A derived {@code findByEmail} query would always hit the database.
+ * <p>
+ * Outside a transaction the lookup runs in a short-lived session, not a read-only
+ * transaction. A transaction would borrow a pooled connection even when both cache regions
+ * answer, and avoiding that is the point of the cache. When replicas are configured, that
+ * session's connection is marked read-only so it is served by a replica. Two cases read from
+ * the primary instead. An email this node wrote within the read-your-writes window goes
+ * straight to the primary. An email the replica does not know is retried on the primary,
+ * which covers a registration made on another node that has not replicated yet.
+ */
+class UserEmailLookupImpl implements UserEmailLookup {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<RecentUserWrites> recentWrites;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicas;
+
+    UserEmailLookupImpl(EntityManagerFactory entityManagerFactory, ObjectProvider<RecentUserWrites> recentWrites,
+            ObjectProvider<ReplicaRoutingDataSource> replicas) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.recentWrites = recentWrites;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        EntityManager transactional = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (transactional != null) {
+            // The transaction's read-only flag has already decided where it reads from.
+            return load(transactional.unwrap(Session.class), email);
+        }
+        RecentUserWrites recent = recentWrites.getIfAvailable();
+        if (replicas.getIfAvailable() == null || recent != null && recent.isRecent(email)) {
+            return load(email, false);
+        }
+        Optional<User> user = load(email, true);
+        return user.isPresent() ? user : load(email, false);
+    }
+
+    private Optional<User> load(String email, boolean replica) {
+        try (Session session = entityManagerFactory.unwrap(SessionFactory.class).openSession()) {
+            if (replica) {
+                // Only flags the lazy connection proxy; nothing is fetched from a pool unless
+                // the second-level cache misses.
+                session.doWork(connection -> connection.setReadOnly(true));
+            }
+            return load(session, email);
+        }
+    }
+
+    private static Optional<User> load(Session session, String email) {
+        return session.bySimpleNaturalId(User.class).loadOptional(email);
+    }
+}
@@ -1,11 +1,25 @@
 package com.miguel.backend_login_page.repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.miguel.backend_login_page.domain.user.User;
 
-public interface UserRepository extends JpaRepository<User, String> {
-    Optional<User> findByEmail(String email);
+import jakarta.persistence.QueryHint;
+
+public interface UserRepository extends JpaRepository<User, String>, UserEmailLookup {
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.email from User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
 }
@@ -0,0 +1,309 @@
+package com.miguel.backend_login_page.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.dto.ImportLineErrorDTO;
+import com.miguel.backend_login_page.dto.ImportProgressDTO;
+import com.miguel.backend_login_page.dto.ImportUserDTO;
+import com.miguel.backend_login_page.repository.UserRepository;
+
+/**
+ * Streams users from NDJSON or CSV into the {@code users} table in batches.
+ * <p>
+ * Each batch is checked for existing emails with one query, hashed in parallel (rows that
+ * already carry a BCrypt hash skip hashing) and persisted with {@code saveAll} inside a
+ * single transaction, which Hibernate turns into JDBC batch inserts.
+ */
+@Service
+public class UserImportService implements DisposableBean {
+
+    public enum Format { NDJSON, CSV }
+
+    public interface Listener {
+        void onError(ImportLineErrorDTO error) throws IOException;
+
+        void onProgress(ImportProgressDTO progress) throws IOException;
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$(0[4-9]|[12]\\d|3[01])\\$[./A-Za-z0-9]{53}$");
+
+    private final UserRepository repository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService hashingPool;
+    private final int batchSize;
+
+    public UserImportService(
+            UserRepository repository,
+            PasswordEncoder passwordEncoder,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${api.admin.import.batch-size:500}") int batchSize,
+            @Value("${api.admin.import.hash-threads:0}") int hashThreads) {
+        this.repository = repository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.hashingPool = Executors.newFixedThreadPool(
+                hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors(),
+                new ImportThreadFactory());
+    }
+
+    /**
+     * Thrown when the import stops partway, for example because the database is down or a
+     * password could not be hashed. Batches already committed stay imported; the progress
+     * carries the counts reached, with type {@code failed}.
+     */
+    public static final class ImportFailedException extends RuntimeException {
+        private final ImportProgressDTO progress;
+
+        private ImportFailedException(ImportProgressDTO progress, Throwable cause) {
+            super("User import failed after " + progress.processed() + " lines", cause);
+            this.progress = progress;
+        }
+
+        public ImportProgressDTO getProgress() {
+            return progress;
+        }
+    }
+
+    public ImportProgressDTO importUsers(BufferedReader reader, Format format, Listener listener) throws IOException {
+        Counters counters = new Counters(System.nanoTime());
+        try {
+            return importUsers(reader, format, listener, counters);
+        } catch (RuntimeException exception) {
+            ImportProgressDTO progress = counters.snapshot("failed");
+            log.error("User import failed: {} processed, {} imported, {} rejected before the failure",
+                    progress.processed(), progress.imported(), progress.rejected(), exception);
+            throw new ImportFailedException(progress, exception);
+        }
+    }
+
+    private ImportProgressDTO importUsers(BufferedReader reader, Format format, Listener listener, Counters counters)
+            throws IOException {
+        List<Row> batch = new ArrayList<>(batchSize);
+        String[] csvHeader = null;
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvHeader == null) {
+                csvHeader = splitCsv(line);
+                continue;
+            }
+
+            counters.processed++;
+            ImportUserDTO parsed;
+            try {
+                parsed = format == Format.CSV ? parseCsv(csvHeader, line) : objectMapper.readValue(line, ImportUserDTO.class);
+            } catch (JsonProcessingException | IllegalArgumentException exception) {
+                reject(listener, counters, lineNumber, null, "Malformed line");
+                continue;
+            }
+
+            String problem = validate(parsed);
+            if (problem != null) {
+                reject(listener, counters, lineNumber, parsed.email(), problem);
+                continue;
+            }
+
+            batch.add(new Row(lineNumber, parsed));
+            if (batch.size() >= batchSize) {
+                flush(batch, listener, counters);
+                listener.onProgress(counters.snapshot("progress"));
+            }
+        }
+        flush(batch, listener, counters);
+
+        ImportProgressDTO summary = counters.snapshot("summary");
+        log.info("User import finished: {} processed, {} imported, {} rejected in {} ms ({} users/s)",
+                summary.processed(), summary.imported(), summary.rejected(), summary.elapsedMillis(),
+                Math.round(summary.usersPerSecond()));
+        return summary;
+    }
+
+    @Override
+    public void destroy() {
+        hashingPool.shutdown();
+    }
+
+    private void flush(List<Row> batch, Listener listener, Counters counters) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<String> taken = new HashSet<>(repository.findExistingEmails(batch.stream().map(row -> row.data().email()).toList()));
+        List<Row> accepted = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (taken.add(row.data().email())) {
+                accepted.add(row);
+            } else {
+                reject(listener, counters, row.line(), row.data().email(), "User already exists with this email");
+            }
+        }
+        batch.clear();
+
+        List<User> users = hash(accepted);
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.saveAll(users));
+            counters.imported += users.size();
+        } catch (DataIntegrityViolationException exception) {
+            // A concurrent registration won the race for one of the emails; retry row by row.
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                user.setId(null);
+                try {
+                    repository.save(user);
+                    counters.imported++;
+                } catch (DataIntegrityViolationException duplicate) {
+                    reject(listener, counters, accepted.get(i).line(), user.getEmail(), "User already exists with this email");
+                }
+            }
+        }
+    }
+
+    private List<User> hash(List<Row> rows) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            ImportUserDTO data = row.data();
+            hashes.add(data.passwordHash() != null
+                    ? CompletableFuture.completedFuture(data.passwordHash())
+                    : hashingPool.submit(() -> passwordEncoder.encode(data.password())));
+        }
+
+        List<User> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportUserDTO data = rows.get(i).data();
+            User user = new User();
+            user.setName(data.name());
+            user.setEmail(data.email());
+            user.setPassword(await(hashes.get(i)));
+            users.add(user);
+        }
+        return users;
+    }
+
+    private static String await(Future<String> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Password hashing failed during import", exception.getCause());
+        }
+    }
+
+    private static String validate(ImportUserDTO user) {
+        if (user.email() == null || user.email().isBlank()) {
+            return "Missing email";
+        }
+        if (user.name() == null || user.name().isBlank()) {
+            return "Missing name";
+        }
+        if (user.passwordHash() != null) {
+            return BCRYPT_HASH.matcher(user.passwordHash()).matches() ? null : "passwordHash is not a BCrypt hash";
+        }
+        if (user.password() == null || user.password().isEmpty()) {
+            return "Missing password or passwordHash";
+        }
+        return null;
+    }
+
+    private static void reject(Listener listener, Counters counters, long line, String email, String error) throws IOException {
+        counters.rejected++;
+        listener.onError(new ImportLineErrorDTO(line, email, error));
+    }
+
+    private static ImportUserDTO parseCsv(String[] header, String line) {
+        String[] values = splitCsv(line);
+        String name = null, email = null, password = null, passwordHash = null;
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            String value = values[i].isEmpty() ? null : values[i];
+            switch (header[i].toLowerCase(Locale.ROOT)) {
+                case "name" -> name = value;
+                case "email" -> email = value;
+                case "password" -> password = value;
+                case "password_hash", "passwordhash" -> passwordHash = value;
+                default -> { }
+            }
+        }
+        return new ImportUserDTO(name, email, password, passwordHash);
+    }
+
+    /** Splits a simple CSV line: fields may be wrapped in double quotes but must not contain commas. */
+    private static String[] splitCsv(String line) {
+        String[] fields = line.split(",", -1);
+        for (int i = 0; i < fields.length; i++) {
+            String field = fields[i].trim();
+            if (field.length() >= 2 && field.startsWith("\"") && field.endsWith("\"")) {
+                field = field.substring(1, field.length() - 1);
+            }
+            fields[i] = field;
+        }
+        return fields;
+    }
+
+    private record Row(long line, ImportUserDTO data) { }
+
+    private static final class Counters {
+        private final long startedAt;
+        private long processed;
+        private long imported;
+        private long rejected;
+
+        private Counters(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private ImportProgressDTO snapshot(String type) {
+            long elapsedNanos = Math.max(1, System.nanoTime() - startedAt);
+            return new ImportProgressDTO(type, processed, imported, rejected,
+                    elapsedNanos / 1_000_000, imported * 1_000_000_000.0 / elapsedNanos);
+        }
+    }
+
+    private static final class ImportThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "user-import-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
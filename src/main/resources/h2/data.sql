@@ -0,0 +1,4 @@
+-- The admin the load-test harness seeds users as (loadtest.Fixture), password loadtest-password.
+MERGE INTO users (id, name, email, password, roles) KEY (email)
+VALUES ('00000000-0000-0000-0000-000000000001', 'Load Test Admin', 'loadtest-admin@loadtest.example',
+        '$2a$10$cZuQA2VrXC8kg4YXaKTb4.Zvqp1uhrCGFUB2W4SSNffaHjgf2f95G', 1);
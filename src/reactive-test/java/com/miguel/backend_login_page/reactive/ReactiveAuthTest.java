@@ -0,0 +1,95 @@
+package com.miguel.backend_login_page.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.miguel.backend_login_page.dto.ResponseDTO;
+
+@SpringBootTest(classes = ReactiveAuthApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-auth;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "api.security.password.target-latency=0",
+        "api.security.password.bcrypt.min-strength=4"
+})
+@ActiveProfiles(ReactiveAuthApplication.PROFILE)
+@DisplayName("Reactive auth endpoints over R2DBC")
+class ReactiveAuthTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    @DisplayName("Should register, log in and reach /user with the issued token")
+    void testRegisterLoginAndUser() {
+        // Arrange
+        Map<String, String> registration = Map.of("name", "Reactive", "email", "reactive@example.com", "password", "secret");
+
+        // Act
+        ResponseDTO registered = post("/auth/register", registration)
+                .expectStatus().isOk()
+                .expectBody(ResponseDTO.class).returnResult().getResponseBody();
+        ResponseDTO loggedIn = post("/auth/login", Map.of("email", "reactive@example.com", "password", "secret"))
+                .expectStatus().isOk()
+                .expectBody(ResponseDTO.class).returnResult().getResponseBody();
+
+        // Assert
+        assertNotNull(registered);
+        assertEquals("Reactive", registered.name());
+        assertNotNull(loggedIn);
+        client.get().uri("/user")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + loggedIn.token())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Suceso");
+    }
+
+    @Test
+    @DisplayName("Should answer with the servlet application's error codes")
+    void testErrorResponses() {
+        // Arrange
+        Map<String, String> registration = Map.of("name", "Taken", "email", "taken@example.com", "password", "secret");
+        post("/auth/register", registration).expectStatus().isOk();
+
+        // Act & Assert
+        post("/auth/register", registration)
+                .expectStatus().isEqualTo(409)
+                .expectBody().jsonPath("$.error").isEqualTo("USER_ALREADY_EXISTS");
+        post("/auth/login", Map.of("email", "taken@example.com", "password", "wrong"))
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.error").isEqualTo("INVALID_CREDENTIALS");
+        post("/auth/login", Map.of("email", "nobody@example.com", "password", "secret"))
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.error").isEqualTo("USER_NOT_FOUND");
+    }
+
+    @Test
+    @DisplayName("Should refuse /user without a valid token")
+    void testUserRequiresToken() {
+        // Act & Assert
+        client.get().uri("/user").exchange().expectStatus().isForbidden();
+        client.get().uri("/user")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    private WebTestClient.ResponseSpec post(String uri, Map<String, String> body) {
+        return client.post().uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange();
+    }
+}
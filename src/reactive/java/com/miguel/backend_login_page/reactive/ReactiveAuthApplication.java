@@ -0,0 +1,38 @@
+package com.miguel.backend_login_page.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+
+/**
+ * WebFlux and R2DBC variant of {@code /auth/login}, {@code /auth/register} and {@code /user},
+ * built with the {@code reactive} Maven profile so the two stacks can be load-tested side by
+ * side. It shares the user table, token format and password encoder with the servlet
+ * application but none of its JDBC, JPA or servlet beans.
+ * <p>
+ * Both web stacks are on the classpath under that profile, so the application type is set
+ * explicitly; every class in this package is also conditional on it, which keeps the servlet
+ * application's component scan from picking them up.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class })
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveAuthApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setAdditionalProfiles(PROFILE);
+        application.run(args);
+    }
+}
@@ -0,0 +1,107 @@
+package com.miguel.backend_login_page.reactive;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.miguel.backend_login_page.infra.exception.ErrorResponseWriter;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
+import com.miguel.backend_login_page.infra.security.CalibratedPasswordEncoder;
+import com.miguel.backend_login_page.infra.security.ManagementPort;
+import com.miguel.backend_login_page.infra.security.PrincipalCache;
+import com.miguel.backend_login_page.infra.security.TokenService;
+import com.miguel.backend_login_page.infra.security.UserRoles;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Routes and the shared beans the servlet application gets from its component scan. Tokens
+ * are always HS256 here: the ES256 key ring is stored through JPA, so setting
+ * {@code api.security.token.algorithm} has no effect on this variant.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> authRoutes(ReactiveAuthHandler handler) {
+        return route(POST("/auth/login"), handler::login)
+                .andRoute(POST("/auth/register"), handler::register)
+                .andRoute(GET("/user"), handler::user);
+    }
+
+    /**
+     * Boot would pick Tomcat, which the servlet stack puts on the classpath, and run WebFlux
+     * over the servlet API. Netty is what a non-blocking stack is compared on.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public AuthMetrics authMetrics(MeterRegistry registry) {
+        return new AuthMetrics(registry);
+    }
+
+    @Bean
+    public UserRoles userRoles() {
+        return new UserRoles();
+    }
+
+    @Bean
+    public PrincipalCache principalCache(
+            @Value("${api.security.principal-cache.enabled:true}") boolean enabled,
+            @Value("${api.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${api.security.principal-cache.ttl:5m}") Duration ttl) {
+        return new PrincipalCache(enabled, maxSize, ttl);
+    }
+
+    @Bean
+    public TokenService tokenService(
+            AuthMetrics metrics,
+            UserRoles roles,
+            @Value("${api.security.token.secret}") String secret,
+            @Value("${api.security.token.access-ttl:15m}") Duration accessTokenTtl,
+            @Value("${api.security.token.refresh-ttl:7d}") Duration refreshTokenTtl,
+            @Value("${api.security.token.fast-path:true}") boolean fastPath,
+            @Value("${api.security.token.verified-cache.enabled:true}") boolean verifiedCacheEnabled,
+            @Value("${api.security.token.verified-cache.max-size:50000}") long verifiedCacheMaxSize,
+            @Value("${api.security.token.verified-cache.ttl:60s}") Duration verifiedCacheTtl) {
+        return new TokenService(metrics, null, roles, secret, accessTokenTtl, refreshTokenTtl, fastPath,
+                verifiedCacheEnabled, verifiedCacheMaxSize, verifiedCacheTtl);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${api.security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${api.security.password.work-factor:0}") int workFactor,
+            @Value("${api.security.password.target-latency:100ms}") Duration targetLatency,
+            @Value("${api.security.password.bcrypt.min-strength:10}") int minStrength,
+            @Value("${api.security.password.bcrypt.max-strength:14}") int maxStrength,
+            @Value("${api.security.password.pbkdf2.min-iterations:310000}") int minIterations,
+            @Value("${api.security.password.pbkdf2.max-iterations:5000000}") int maxIterations) {
+        return CalibratedPasswordEncoder.configure(algorithm, workFactor, targetLatency, minStrength, maxStrength, minIterations, maxIterations);
+    }
+
+    @Bean
+    public ManagementPort managementPort() {
+        return new ManagementPort();
+    }
+
+    @Bean
+    public ErrorResponseWriter errorResponseWriter() {
+        return new ErrorResponseWriter();
+    }
+}
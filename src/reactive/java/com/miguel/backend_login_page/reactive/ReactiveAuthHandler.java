@@ -0,0 +1,77 @@
+package com.miguel.backend_login_page.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.dto.LoginRequestDTO;
+import com.miguel.backend_login_page.dto.RegisterRequestDTO;
+import com.miguel.backend_login_page.dto.ResponseDTO;
+import com.miguel.backend_login_page.infra.exception.InvalidCredentialsException;
+import com.miguel.backend_login_page.infra.exception.UserNotFoundException;
+import com.miguel.backend_login_page.infra.security.TokenService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handlers behind the routes of {@link ReactiveAuthConfig}, answering like {@code AuthController}
+ * and {@code UserController}: same request and response bodies, same error codes. Hashing runs
+ * on {@link ReactivePasswordHashing}; everything else stays on the event loop.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveAuthHandler {
+    private final ReactiveUserRepository repository;
+    private final ReactivePasswordHashing passwordHashing;
+    private final TokenService tokenService;
+
+    public Mono<ServerResponse> login(ServerRequest request) {
+        return request.bodyToMono(LoginRequestDTO.class)
+                .flatMap(body -> repository.findByEmail(body.email())
+                        .switchIfEmpty(Mono.defer(() -> passwordHashing.simulateMatch(body.password())
+                                .then(Mono.error(new UserNotFoundException("User not found")))))
+                        .flatMap(user -> passwordHashing.matches(body.password(), user.getPassword())
+                                .flatMap(matches -> matches
+                                        ? rehashIfNeeded(user, body.password())
+                                        : Mono.error(new InvalidCredentialsException("Invalid email or password")))))
+                .flatMap(this::issueTokens);
+    }
+
+    public Mono<ServerResponse> register(ServerRequest request) {
+        return request.bodyToMono(RegisterRequestDTO.class)
+                .flatMap(body -> passwordHashing.encode(body.password())
+                        .flatMap(hash -> {
+                            User newUser = new User();
+                            newUser.setPassword(hash);
+                            newUser.setEmail(body.email());
+                            newUser.setName(body.name());
+                            return repository.insert(newUser);
+                        }))
+                .flatMap(this::issueTokens);
+    }
+
+    public Mono<ServerResponse> user(ServerRequest request) {
+        return ServerResponse.ok().bodyValue("Suceso");
+    }
+
+    private Mono<User> rehashIfNeeded(User user, String password) {
+        if (!passwordHashing.upgradeEncoding(user.getPassword())) {
+            return Mono.just(user);
+        }
+        return passwordHashing.encode(password)
+                .flatMap(hash -> {
+                    user.setPassword(hash);
+                    return repository.updatePassword(user.getId(), hash);
+                })
+                .thenReturn(user);
+    }
+
+    private Mono<ServerResponse> issueTokens(User user) {
+        return ServerResponse.ok().bodyValue(
+                new ResponseDTO(user.getName(), tokenService.generateToken(user), tokenService.generateRefreshToken(user)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.miguel.backend_login_page.reactive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+
+import com.miguel.backend_login_page.infra.exception.ErrorResponseWriter;
+import com.miguel.backend_login_page.infra.exception.HashingCapacityExceededException;
+import com.miguel.backend_login_page.infra.exception.InvalidCredentialsException;
+import com.miguel.backend_login_page.infra.exception.UserAlreadyExistsException;
+import com.miguel.backend_login_page.infra.exception.UserNotFoundException;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Maps the domain exceptions the reactive handlers throw to the same status, error code and
+ * body as {@code GlobalExceptionHandler}, through the same {@link ErrorResponseWriter} templates.
+ * Anything else is left to Spring Boot's error handler, which runs after this one.
+ */
+@Component
+@Order(-2)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveExceptionHandler implements WebExceptionHandler {
+    private final AuthMetrics metrics;
+    private final ErrorResponseWriter errors;
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (ex instanceof UserNotFoundException) {
+            return write(response, HttpStatus.NOT_FOUND, "USER_NOT_FOUND", ex.getMessage());
+        }
+        if (ex instanceof UserAlreadyExistsException) {
+            return write(response, HttpStatus.CONFLICT, "USER_ALREADY_EXISTS", ex.getMessage());
+        }
+        if (ex instanceof InvalidCredentialsException) {
+            return write(response, HttpStatus.UNAUTHORIZED, "INVALID_CREDENTIALS", ex.getMessage());
+        }
+        if (ex instanceof HashingCapacityExceededException busy) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(busy.getRetryAfterSeconds()));
+            return write(response, HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_BUSY", ex.getMessage());
+        }
+        return Mono.error(ex);
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, HttpStatus status, String error, String message) {
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        metrics.countError(error);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(192);
+        try {
+            errors.writeBody(body, status, error, message);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.size());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.toByteArray())));
+    }
+}
@@ -0,0 +1,106 @@
+package com.miguel.backend_login_page.reactive;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.miguel.backend_login_page.infra.exception.HashingCapacityExceededException;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive counterpart of {@code PasswordHashingExecutor}: hashing never runs on an event-loop
+ * thread but on a bounded pool of the same shape and settings, wrapped as a Reactor
+ * {@link Scheduler}. When the queue is full the returned {@link Mono} fails with
+ * {@link HashingCapacityExceededException} instead of waiting.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePasswordHashing implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final long retryAfterSeconds;
+    private volatile String dummyHash;
+
+    public ReactivePasswordHashing(
+            PasswordEncoder passwordEncoder,
+            @Value("${api.security.hashing.threads:0}") int threads,
+            @Value("${api.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${api.security.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hashing");
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Spends the same hashing work as {@link #matches} against a throwaway hash, so a request
+     * for an unknown account takes as long as one with a wrong password.
+     */
+    public Mono<Boolean> simulateMatch(CharSequence rawPassword) {
+        return submit(() -> {
+            String dummy = dummyHash;
+            if (dummy == null) {
+                dummy = passwordEncoder.encode("dummy-password-for-timing-equalization");
+                dummyHash = dummy;
+            }
+            return passwordEncoder.matches(rawPassword, dummy);
+        });
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    private <T> Mono<T> submit(Callable<T> task) {
+        return Mono.fromCallable(task)
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, exception -> new HashingCapacityExceededException(
+                        "Too many authentication requests, try again later", retryAfterSeconds, exception));
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.miguel.backend_login_page.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
+
+import com.miguel.backend_login_page.infra.security.ManagementPort;
+import com.miguel.backend_login_page.infra.security.PrincipalCache;
+import com.miguel.backend_login_page.infra.security.TokenService;
+import com.miguel.backend_login_page.infra.security.UserRoles;
+
+/**
+ * The rules of {@code SecurityConfig} for the routes this variant serves. Unauthenticated
+ * requests get 403, as they do from the servlet chain, and nothing is kept between requests.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            TokenService tokenService,
+            ReactiveUserRepository userRepository,
+            PrincipalCache principalCache,
+            UserRoles roles,
+            ManagementPort managementPort,
+            @Value("${api.security.token.stateless:false}") boolean stateless) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+                .authorizeExchange(authorize -> authorize
+                        .pathMatchers(HttpMethod.POST, "/auth/login").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/auth/register").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .matchers(exchange -> exchange.getRequest().getLocalAddress() != null
+                                && managementPort.matches(exchange.getRequest().getLocalAddress().getPort())
+                                ? MatchResult.match()
+                                : MatchResult.notMatch()).permitAll()
+                        .pathMatchers("/actuator/**").hasRole("ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(new ReactiveSecurityFilter(tokenService, userRepository, principalCache, roles, stateless),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
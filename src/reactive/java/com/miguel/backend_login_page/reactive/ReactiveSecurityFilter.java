@@ -0,0 +1,75 @@
+package com.miguel.backend_login_page.reactive;
+
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.security.AuthenticatedUser;
+import com.miguel.backend_login_page.infra.security.PrincipalCache;
+import com.miguel.backend_login_page.infra.security.TokenService;
+import com.miguel.backend_login_page.infra.security.UserRoles;
+import com.miguel.backend_login_page.infra.security.VerifiedToken;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code WebFilter} counterpart of {@code SecurityFilter}. The bearer token is verified on the
+ * event loop through {@link TokenService}, whose verified-token cache makes repeat tokens
+ * cheap, and the principal is placed in the Reactor context rather than a thread-local.
+ * <p>
+ * Stateless mode trusts a token's identity claims as the servlet filter does; otherwise the
+ * subject is resolved through the same {@link PrincipalCache}, with misses loaded through
+ * {@link ReactiveUserRepository}. Revocations are not checked: the revocation store is
+ * JPA-backed and stays with the servlet application.
+ * <p>
+ * It is added to the security chain by {@link ReactiveSecurityConfig} and is deliberately not
+ * a bean, which would register it a second time as a plain web filter.
+ */
+public class ReactiveSecurityFilter implements WebFilter {
+    private final TokenService tokenService;
+    private final ReactiveUserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final UserRoles roles;
+    private final boolean stateless;
+
+    public ReactiveSecurityFilter(TokenService tokenService, ReactiveUserRepository userRepository,
+            PrincipalCache principalCache, UserRoles roles, boolean stateless) {
+        this.tokenService = tokenService;
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.roles = roles;
+        this.stateless = stateless;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        VerifiedToken verified = tokenService.verifyBearer(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (verified == null || verified.subject() == null) {
+            return chain.filter(exchange);
+        }
+        // Wrapped in Optional because chain.filter completes empty, so switchIfEmpty would run it twice.
+        return resolvePrincipal(verified)
+                .map(principal -> Optional.of(new UsernamePasswordAuthenticationToken(principal, verified, principal.authorities())))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(value -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(value)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    private Mono<AuthenticatedUser> resolvePrincipal(VerifiedToken verified) {
+        if (stateless && verified.user() != null) {
+            return Mono.just(verified.user());
+        }
+        Mono<User> user = principalCache.getIfPresent(verified.subject())
+                .map(Mono::just)
+                .orElseGet(() -> userRepository.findByEmail(verified.subject())
+                        .doOnNext(loaded -> principalCache.put(verified.subject(), verified.expiresAt(), loaded)));
+        return user.map(found -> AuthenticatedUser.of(found, roles.of(found)));
+    }
+}
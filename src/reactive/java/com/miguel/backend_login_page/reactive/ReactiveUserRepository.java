@@ -0,0 +1,82 @@
+package com.miguel.backend_login_page.reactive;
+
+import java.util.Locale;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.exception.UserAlreadyExistsException;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code users} table over R2DBC. Rows map onto the same {@link User} class the JPA
+ * repository uses, here as a plain object, so {@code TokenService} takes them unchanged.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+    private final DatabaseClient database;
+
+    public Mono<User> findByEmail(String email) {
+        return database.sql("SELECT id, name, email, password, roles FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(ReactiveUserRepository::user)
+                .one();
+    }
+
+    /**
+     * Inserts {@code user} under a new UUID, like the JPA mapping generates. A duplicate email
+     * fails with {@link UserAlreadyExistsException}.
+     */
+    public Mono<User> insert(User user) {
+        String id = UUID.randomUUID().toString();
+        return database.sql("INSERT INTO users (id, name, email, password) VALUES (:id, :name, :email, :password)")
+                .bind("id", id)
+                .bind("name", user.getName())
+                .bind("email", user.getEmail())
+                .bind("password", user.getPassword())
+                .fetch()
+                .rowsUpdated()
+                .onErrorMap(ReactiveUserRepository::isDuplicateEmail,
+                        exception -> new UserAlreadyExistsException("User already exists with this email", exception))
+                .then(Mono.fromSupplier(() -> {
+                    user.setId(id);
+                    return user;
+                }));
+    }
+
+    public Mono<Long> updatePassword(String id, String password) {
+        return database.sql("UPDATE users SET password = :password WHERE id = :id")
+                .bind("password", password)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static User user(Readable row) {
+        return new User(row.get("id", String.class), row.get("name", String.class),
+                row.get("email", String.class), row.get("password", String.class), row.get("roles", Integer.class));
+    }
+
+    /** Without Hibernate's constraint name, the index name is looked for in the driver's message. */
+    private static boolean isDuplicateEmail(Throwable exception) {
+        if (!(exception instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(User.EMAIL_INDEX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
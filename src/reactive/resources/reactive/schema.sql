@@ -0,0 +1,9 @@
+-- The users table as Hibernate maps domain.user.User, for running the reactive variant alone.
+CREATE TABLE IF NOT EXISTS users (
+    id VARCHAR(255) NOT NULL PRIMARY KEY,
+    email VARCHAR(255),
+    name VARCHAR(255),
+    password VARCHAR(255),
+    roles INTEGER DEFAULT 0 NOT NULL
+);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON users (email);
@@ -1,15 +1,25 @@
 package com.miguel.backend_login_page.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +27,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
@@ -24,8 +35,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.miguel.backend_login_page.domain.user.User;
 import com.miguel.backend_login_page.dto.LoginRequestDTO;
+import com.miguel.backend_login_page.dto.RefreshRequestDTO;
 import com.miguel.backend_login_page.dto.RegisterRequestDTO;
+import com.miguel.backend_login_page.infra.security.KnownEmailFilter;
 import com.miguel.backend_login_page.infra.security.TokenService;
+import com.miguel.backend_login_page.infra.security.VerifiedToken;
 import com.miguel.backend_login_page.repository.UserRepository;
 
 @SpringBootTest
@@ -48,6 +62,9 @@ class AuthControllerTest {
     @MockBean
     private TokenService tokenService;
 
+    @MockBean
+    private KnownEmailFilter knownEmails;
+
     private User testUser;
     private String testToken;
 
@@ -59,6 +76,7 @@ class AuthControllerTest {
         testUser.setEmail("john@example.com");
         testUser.setPassword("encodedPassword123");
         testToken = "jwt.token.here";
+        when(knownEmails.mightContain(anyString())).thenReturn(true);
     }
 
     @Test
@@ -83,6 +101,49 @@ class AuthControllerTest {
         verify(tokenService).generateToken(testUser);
     }
 
+    @Test
+    @DisplayName("Should rehash the stored password when the work factor changed")
+    void testLoginRehashesPassword() throws Exception {
+        // Arrange
+        LoginRequestDTO loginRequest = new LoginRequestDTO("john@example.com", "password123");
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "encodedPassword123")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword123")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("rehashedPassword");
+        when(tokenService.generateToken(testUser)).thenReturn(testToken);
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        verify(userRepository).save(testUser);
+        assertEquals("rehashedPassword", testUser.getPassword());
+    }
+
+    @Test
+    @DisplayName("Should still log in when the rehash fails")
+    void testLoginRehashFailureIgnored() throws Exception {
+        // Arrange
+        LoginRequestDTO loginRequest = new LoginRequestDTO("john@example.com", "password123");
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "encodedPassword123")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword123")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("rehashedPassword");
+        when(userRepository.save(testUser)).thenThrow(new DataIntegrityViolationException("database unavailable"));
+        when(tokenService.generateToken(testUser)).thenReturn(testToken);
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value(testToken));
+
+        assertEquals("encodedPassword123", testUser.getPassword());
+    }
+
     @Test
     @DisplayName("Should fail login with invalid password")
     void testLoginWithInvalidPassword() throws Exception {
@@ -114,6 +175,71 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.error").value("USER_NOT_FOUND"));
     }
 
+    @Test
+    @DisplayName("Should skip the user lookup for emails the filter has never seen")
+    void testLoginUnknownEmailSkipsLookup() throws Exception {
+        // Arrange
+        LoginRequestDTO loginRequest = new LoginRequestDTO("ghost@example.com", "password123");
+        when(knownEmails.mightContain("ghost@example.com")).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("USER_NOT_FOUND"));
+
+        verify(userRepository, never()).findByEmail("ghost@example.com");
+        verify(passwordEncoder).matches(eq("password123"), any());
+    }
+
+    @Test
+    @DisplayName("Should refuse logins for one email beyond its bucket before checking the password")
+    void testLoginRateLimitedPerEmail() throws Exception {
+        // Arrange
+        LoginRequestDTO loginRequest = new LoginRequestDTO("brute@example.com", "guess");
+        String body = objectMapper.writeValueAsString(loginRequest);
+        when(userRepository.findByEmail("brute@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("guess", testUser.getPassword())).thenReturn(false);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            String remoteAddr = "10.0.0." + i;
+            mockMvc.perform(post("/auth/login")
+                    .with(request -> { request.setRemoteAddr(remoteAddr); return request; })
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // Assert
+        mockMvc.perform(post("/auth/login")
+                .with(request -> { request.setRemoteAddr("10.0.1.1"); return request; })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.error").value("TOO_MANY_REQUESTS"));
+
+        verify(passwordEncoder, times(10)).matches("guess", testUser.getPassword());
+    }
+
+    @Test
+    @DisplayName("Should refuse an oversized login body with 413 before parsing it")
+    void testLoginBodyTooLarge() throws Exception {
+        // Arrange
+        String body = "{\"email\":\"big@example.com\",\"password\":\"" + "x".repeat(20_000) + "\"}";
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.error").value("PAYLOAD_TOO_LARGE"));
+
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
     @Test
     @DisplayName("Should register successfully with new user")
     void testRegisterSuccess() throws Exception {
@@ -125,7 +251,6 @@ class AuthControllerTest {
         newUser.setEmail("jane@example.com");
         newUser.setPassword("encodedPassword");
 
-        when(userRepository.findByEmail("jane@example.com")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(newUser);
         when(tokenService.generateToken(any(User.class))).thenReturn(testToken);
@@ -138,7 +263,7 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.name").value("Jane Doe"))
                 .andExpect(jsonPath("$.token").value(testToken));
 
-        verify(userRepository).findByEmail("jane@example.com");
+        verify(userRepository, never()).findByEmail("jane@example.com");
         verify(passwordEncoder).encode("password123");
         verify(userRepository).save(any(User.class));
     }
@@ -148,7 +273,9 @@ class AuthControllerTest {
     void testRegisterUserAlreadyExists() throws Exception {
         // Arrange
         RegisterRequestDTO registerRequest = new RegisterRequestDTO("John Doe", "john@example.com", "password123");
-        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate key", new SQLException(), "ux_users_email")));
 
         // Act & Assert
         mockMvc.perform(post("/auth/register")
@@ -157,4 +284,50 @@ class AuthControllerTest {
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.error").value("USER_ALREADY_EXISTS"));
     }
+
+    @Test
+    @DisplayName("Should rotate refresh tokens and reject a replayed one")
+    void testRefreshRotation() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(new RefreshRequestDTO("refresh.token.here"));
+        when(tokenService.verifyRefreshToken("refresh.token.here")).thenReturn(new VerifiedToken(
+                "john@example.com", Instant.now().plusSeconds(3600), UUID.randomUUID().toString()));
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+        when(tokenService.generateToken(testUser)).thenReturn(testToken);
+        when(tokenService.generateRefreshToken(testUser)).thenReturn("next.refresh.token");
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value(testToken))
+                .andExpect(jsonPath("$.refreshToken").value("next.refresh.token"));
+
+        mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("INVALID_TOKEN"));
+
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject access tokens after logout")
+    void testLogoutRevokesAccessToken() throws Exception {
+        // Arrange
+        VerifiedToken access = new VerifiedToken(
+                "john@example.com", Instant.now().plusSeconds(900), UUID.randomUUID().toString());
+        when(tokenService.verifyBearer("Bearer access.token.here")).thenReturn(access);
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+
+        // Act & Assert
+        mockMvc.perform(get("/user").header("Authorization", "Bearer access.token.here"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer access.token.here"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/user").header("Authorization", "Bearer access.token.here"))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -0,0 +1,112 @@
+package com.miguel.backend_login_page.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.security.TokenService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("TokenIntrospectionController Tests")
+class TokenIntrospectionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should answer one NDJSON line per token, in request order")
+    @WithMockUser(roles = "INTROSPECT")
+    void testIntrospectBatch() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setId("42");
+        user.setName("Gateway Check");
+        user.setEmail("gateway-check@example.com");
+        String token = tokenService.generateToken(user);
+        String body = "{\"tokens\":[\"" + token + "\",\"garbage\",\"" + tokenService.generateRefreshToken(user) + "\"]}";
+
+        // Act
+        String response = mockMvc.perform(post("/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        String[] lines = response.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(objectMapper.readTree(lines[0]).get("active").asBoolean());
+        assertEquals("gateway-check@example.com", objectMapper.readTree(lines[0]).get("sub").asText());
+        assertEquals(tokenService.verifyToken(token).expiresAt().getEpochSecond(),
+                objectMapper.readTree(lines[0]).get("exp").asLong());
+        assertEquals("{\"active\":false}", lines[1]);
+        assertEquals("{\"active\":false}", lines[2]);
+    }
+
+    @Test
+    @DisplayName("Should refuse callers without the introspection role")
+    @WithMockUser
+    void testRequiresRole() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tokens\":[]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should reject batches over the size limit")
+    @WithMockUser(roles = "INTROSPECT")
+    void testBatchTooLarge() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(
+                Collections.singletonMap("tokens", Collections.nCopies(10_001, "x")));
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    @DisplayName("Should ignore other fields and treat a missing tokens array as empty")
+    @WithMockUser(roles = "INTROSPECT")
+    void testIgnoresOtherFields() throws Exception {
+        // Act
+        String response = mockMvc.perform(post("/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"client\":{\"id\":[1,2]},\"tokens\":[\"garbage\"],\"trace\":null}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String empty = mockMvc.perform(post("/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertEquals("{\"active\":false}\n", response);
+        assertEquals("", empty);
+    }
+}
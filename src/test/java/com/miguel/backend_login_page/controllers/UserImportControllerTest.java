@@ -0,0 +1,163 @@
+package com.miguel.backend_login_page.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miguel.backend_login_page.repository.UserRepository;
+import com.miguel.backend_login_page.services.UserImportService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("UserImportController Tests")
+class UserImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON users and report rejected lines")
+    @WithMockUser(roles = "ADMIN")
+    void testImportNdjson() throws Exception {
+        // Arrange
+        String hash = new BCryptPasswordEncoder(4).encode("secret");
+        String body = String.join("\n",
+                "{\"name\":\"Ann\",\"email\":\"ann@import.test\",\"password\":\"secret\"}",
+                "{\"name\":\"Bob\",\"email\":\"bob@import.test\",\"passwordHash\":\"" + hash + "\"}",
+                "{\"name\":\"Ann Again\",\"email\":\"ann@import.test\",\"password\":\"secret\"}",
+                "not json");
+
+        // Act
+        String response = mockMvc.perform(post("/admin/users/import")
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertTrue(response.contains("\"line\":3"));
+        assertTrue(response.contains("\"line\":4"));
+        assertTrue(response.contains("\"type\":\"summary\",\"processed\":4,\"imported\":2,\"rejected\":2"));
+        assertEquals(hash, userRepository.findByEmail("bob@import.test").orElseThrow().getPassword());
+        assertTrue(userRepository.findByEmail("ann@import.test").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should reject BCrypt hashes whose cost BCrypt cannot verify")
+    @WithMockUser(roles = "ADMIN")
+    void testRejectsUnusableHashCost() throws Exception {
+        // Arrange
+        String hash = new BCryptPasswordEncoder(4).encode("secret");
+        String body = String.join("\n",
+                "{\"name\":\"Eve\",\"email\":\"eve@import.test\",\"passwordHash\":\"" + hash.replace("$04$", "$99$") + "\"}",
+                "{\"name\":\"Fay\",\"email\":\"fay@import.test\",\"passwordHash\":\"" + hash.replace("$04$", "$00$") + "\"}",
+                "{\"name\":\"Gus\",\"email\":\"gus@import.test\",\"passwordHash\":\"" + hash.replace("$04$", "$31$") + "\"}");
+
+        // Act
+        String response = mockMvc.perform(post("/admin/users/import")
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertTrue(response.contains("\"line\":1"));
+        assertTrue(response.contains("\"line\":2"));
+        assertTrue(response.contains("\"type\":\"summary\",\"processed\":3,\"imported\":1,\"rejected\":2"));
+        assertTrue(userRepository.findByEmail("eve@import.test").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should import CSV users")
+    @WithMockUser(roles = "ADMIN")
+    void testImportCsv() throws Exception {
+        // Arrange
+        String body = "name,email,password\nCarl,carl@import.test,secret\n\"Dora\",dora@import.test,secret\n";
+
+        // Act
+        String response = mockMvc.perform(post("/admin/users/import")
+                .contentType("text/csv")
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertTrue(response.contains("\"imported\":2"));
+        assertEquals("Dora", userRepository.findByEmail("dora@import.test").orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Should end the stream with the counts reached when the import fails")
+    void testImportFailureEndsStream() throws Exception {
+        // Arrange
+        PasswordEncoder failingEncoder = mock(PasswordEncoder.class);
+        when(failingEncoder.encode("secret")).thenThrow(new IllegalStateException("hashing failed"));
+        UserImportService service = new UserImportService(userRepository, failingEncoder, transactionTemplate,
+                objectMapper, 1, 1);
+        UserImportController controller = new UserImportController(service, objectMapper);
+        String hash = new BCryptPasswordEncoder(4).encode("secret");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(String.join("\n",
+                "{\"name\":\"Hal\",\"email\":\"hal@import.test\",\"passwordHash\":\"" + hash + "\"}",
+                "{\"name\":\"Ida\",\"email\":\"ida@import.test\",\"password\":\"secret\"}",
+                "{\"name\":\"Jon\",\"email\":\"jon@import.test\",\"password\":\"secret\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        try {
+            controller.importUsers("application/x-ndjson", request, response);
+        } finally {
+            service.destroy();
+        }
+
+        // Assert
+        String[] lines = response.getContentAsString().split("\n");
+        assertTrue(lines[lines.length - 1].contains("\"type\":\"failed\",\"processed\":2,\"imported\":1,\"rejected\":0"));
+        assertTrue(userRepository.findByEmail("hal@import.test").isPresent());
+        assertTrue(userRepository.findByEmail("ida@import.test").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should forbid imports for non-admin users")
+    @WithMockUser
+    void testImportRequiresAdmin() throws Exception {
+        mockMvc.perform(post("/admin/users/import")
+                .contentType("application/x-ndjson")
+                .content("{}"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,213 @@
+package com.miguel.backend_login_page.infra.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("AuthEventLog Tests")
+class AuthEventLogTest {
+
+    @TempDir
+    private Path directory;
+
+    private AuthEventLog eventLog;
+
+    @AfterEach
+    void tearDown() {
+        if (eventLog != null) {
+            eventLog.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read back appended events, filtered by email and type")
+    void testAppendAndRead() throws IOException {
+        // Arrange
+        eventLog = open(1 << 20);
+        eventLog.append(AuthEventType.LOGIN_SUCCESS, "john@example.com", "10.0.0.1");
+        eventLog.append(AuthEventType.LOGIN_BAD_PASSWORD, "jane@example.com", "10.0.0.2");
+        eventLog.append(AuthEventType.INVALID_TOKEN, null, "10.0.0.3");
+        eventLog.append(AuthEventType.LOGIN_BAD_PASSWORD, "John@Example.com", null);
+        eventLog.append(AuthEventType.REGISTER, "joão@example.com", "::1");
+
+        // Act
+        List<AuthEventLogReader.Event> all = read(AuthEventLogReader.Filter.ALL);
+        List<AuthEventLogReader.Event> john = read(new AuthEventLogReader.Filter("john@example.com", null, null, null));
+        List<AuthEventLogReader.Event> johnFailures = read(
+                new AuthEventLogReader.Filter("john@example.com", null, null, AuthEventType.LOGIN_BAD_PASSWORD));
+
+        // Assert
+        assertEquals(5, all.size());
+        assertEquals(AuthEventType.LOGIN_SUCCESS, all.get(0).type());
+        assertEquals("10.0.0.1", all.get(0).remoteAddress());
+        assertNull(all.get(2).email());
+        assertNull(all.get(3).remoteAddress());
+        assertEquals("joão@example.com", all.get(4).email());
+        assertEquals(2, john.size());
+        assertEquals(1, johnFailures.size());
+        assertEquals(5, eventLog.getAppendedCount());
+    }
+
+    @Test
+    @DisplayName("Should filter by a half-open time range")
+    void testTimeRange() throws Exception {
+        // Arrange
+        eventLog = open(1 << 20);
+        eventLog.append(AuthEventType.LOGIN_SUCCESS, "before@example.com", null);
+        Thread.sleep(20);
+        Instant from = Instant.now();
+        eventLog.append(AuthEventType.LOGIN_SUCCESS, "inside@example.com", null);
+        Thread.sleep(20);
+        Instant to = Instant.now();
+        Thread.sleep(5);
+        eventLog.append(AuthEventType.LOGIN_SUCCESS, "after@example.com", null);
+
+        // Act
+        List<AuthEventLogReader.Event> inside = read(new AuthEventLogReader.Filter(null, from, to, null));
+
+        // Assert
+        assertEquals(1, inside.size());
+        assertEquals("inside@example.com", inside.get(0).email());
+    }
+
+    @Test
+    @DisplayName("Should roll to a new segment when the current one is full")
+    void testRollsWhenFull() throws IOException {
+        // Arrange
+        eventLog = open(4096);
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            eventLog.append(AuthEventType.LOGIN_SUCCESS, "user" + i + "@example.com", "10.0.0.1");
+        }
+
+        // Assert
+        assertTrue(AuthEventLog.segments(directory).size() >= 5);
+        List<AuthEventLogReader.Event> all = read(AuthEventLogReader.Filter.ALL);
+        assertEquals(500, all.size());
+        assertEquals("user499@example.com", all.get(499).email());
+    }
+
+    @Test
+    @DisplayName("Should delete the oldest segments beyond the size budget")
+    void testRetentionBySize() throws IOException {
+        // Arrange
+        eventLog = new AuthEventLog(directory, 4096, Duration.ofHours(1), Duration.ofDays(7), 4 * 4096);
+        for (int i = 0; i < 500; i++) {
+            eventLog.append(AuthEventType.LOGIN_SUCCESS, "user" + i + "@example.com", "10.0.0.1");
+        }
+
+        // Act
+        eventLog.maintain();
+
+        // Assert
+        List<Path> segments = AuthEventLog.segments(directory);
+        assertEquals(4, segments.size());
+        assertTrue(Files.exists(segments.get(3)));
+        List<AuthEventLogReader.Event> kept = read(AuthEventLogReader.Filter.ALL);
+        assertEquals("user499@example.com", kept.get(kept.size() - 1).email());
+    }
+
+    @Test
+    @DisplayName("Should keep every event from concurrent writers across rolls")
+    void testConcurrentAppends() throws Exception {
+        // Arrange
+        eventLog = open(64 * 1024);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        List<Future<?>> done = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            int writer = t;
+            done.add(writers.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    eventLog.append(AuthEventType.LOGIN_SUCCESS, writer + "-" + i + "@example.com", null);
+                }
+            }));
+        }
+        for (Future<?> future : done) {
+            future.get();
+        }
+        writers.shutdown();
+
+        // Assert
+        Set<String> emails = new HashSet<>();
+        read(AuthEventLogReader.Filter.ALL).forEach(event -> emails.add(event.email()));
+        assertEquals(20_000, emails.size());
+    }
+
+    @Test
+    @DisplayName("Should skip records a crashed writer left unfinished and keep the ones after them")
+    void testSkipsUnfinishedRecords() throws IOException {
+        // Arrange
+        eventLog = open(1 << 20);
+        for (String email : List.of("a@example.com", "b@example.com", "c@example.com", "d@example.com")) {
+            eventLog.append(AuthEventType.LOGIN_SUCCESS, email, null);
+        }
+        eventLog.destroy();
+        int size = AuthEventLog.align(AuthEventLog.RECORD_HEADER + "a@example.com".length());
+        Path segment = AuthEventLog.segments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            buffer.order(AuthEventLog.ORDER);
+            // b's writer died after marking its record, c's before it wrote anything at all.
+            buffer.putInt(AuthEventLog.SEGMENT_HEADER + size, -size);
+            buffer.put(AuthEventLog.SEGMENT_HEADER + 2 * size, new byte[size]);
+            buffer.force();
+        }
+
+        // Act
+        List<AuthEventLogReader.Event> events = read(AuthEventLogReader.Filter.ALL);
+
+        // Assert
+        assertEquals(List.of("a@example.com", "d@example.com"), events.stream().map(AuthEventLogReader.Event::email).toList());
+    }
+
+    @Test
+    @DisplayName("Should continue numbering segments after a restart")
+    void testRestart() throws IOException {
+        // Arrange
+        eventLog = open(1 << 20);
+        eventLog.append(AuthEventType.REGISTER, "first@example.com", null);
+        eventLog.destroy();
+
+        // Act
+        eventLog = open(1 << 20);
+        eventLog.append(AuthEventType.LOGIN_SUCCESS, "first@example.com", null);
+
+        // Assert
+        assertEquals(2, AuthEventLog.segments(directory).size());
+        assertEquals(2, read(new AuthEventLogReader.Filter("first@example.com", null, null, null)).size());
+    }
+
+    private AuthEventLog open(int segmentSize) {
+        return new AuthEventLog(directory, segmentSize, Duration.ofHours(1), Duration.ofDays(7), Long.MAX_VALUE);
+    }
+
+    private List<AuthEventLogReader.Event> read(AuthEventLogReader.Filter filter) throws IOException {
+        List<AuthEventLogReader.Event> events = new ArrayList<>();
+        AuthEventLogReader.read(directory, filter, events::add);
+        return events;
+    }
+}
@@ -0,0 +1,75 @@
+package com.miguel.backend_login_page.infra.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.miguel.backend_login_page.domain.audit.LoginAudit.Outcome;
+
+@SpringBootTest
+@DisplayName("LoginAuditStore Tests")
+class LoginAuditStoreTest {
+
+    @Autowired
+    private LoginAuditStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from login_audit where email like '%@audit.example.com'");
+        jdbcTemplate.update("delete from user_last_login where user_id like 'audit-%'");
+    }
+
+    @Test
+    @DisplayName("Should insert every event and keep the latest login per user")
+    void testWritesBatch() {
+        // Arrange
+        List<LoginAuditor.Event> events = List.of(
+                new LoginAuditor.Event(1_000, "a@audit.example.com", "audit-a", Outcome.SUCCESS, "10.0.0.1"),
+                new LoginAuditor.Event(3_000, "a@audit.example.com", "audit-a", Outcome.SUCCESS, "10.0.0.1"),
+                new LoginAuditor.Event(2_000, "a@audit.example.com", "audit-a", Outcome.BAD_PASSWORD, "10.0.0.2"),
+                new LoginAuditor.Event(2_000, "ghost@audit.example.com", null, Outcome.UNKNOWN_EMAIL, "10.0.0.3"));
+
+        // Act
+        store.write(events);
+
+        // Assert
+        assertEquals(4, count("select count(*) from login_audit where email like '%@audit.example.com'"));
+        assertEquals(1, count("select count(*) from login_audit where outcome = 'UNKNOWN_EMAIL' and email = 'ghost@audit.example.com'"));
+        assertEquals(3_000, lastLogin("audit-a"));
+    }
+
+    @Test
+    @DisplayName("Should never move a last-login time backwards")
+    void testLastLoginOnlyMovesForward() {
+        // Arrange
+        store.write(List.of(new LoginAuditor.Event(5_000, "b@audit.example.com", "audit-b", Outcome.SUCCESS, null)));
+
+        // Act
+        store.write(List.of(new LoginAuditor.Event(4_000, "b@audit.example.com", "audit-b", Outcome.SUCCESS, null)));
+        store.write(List.of(new LoginAuditor.Event(6_000, "b@audit.example.com", "audit-b", Outcome.SUCCESS, null)));
+
+        // Assert
+        assertEquals(6_000, lastLogin("audit-b"));
+        assertEquals(3, count("select count(*) from login_audit where user_id = 'audit-b'"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private long lastLogin(String userId) {
+        return jdbcTemplate.queryForObject("select last_login_at from user_last_login where user_id = ?",
+                Timestamp.class, userId).getTime();
+    }
+}
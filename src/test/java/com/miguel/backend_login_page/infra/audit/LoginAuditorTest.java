@@ -0,0 +1,225 @@
+package com.miguel.backend_login_page.infra.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.miguel.backend_login_page.domain.audit.LoginAudit.Outcome;
+
+@DisplayName("LoginAuditor Tests")
+class LoginAuditorTest {
+
+    private final List<List<LoginAuditor.Event>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private LoginAuditor auditor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (auditor != null) {
+            auditor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write a batch as soon as it is full")
+    void testFlushesBySize() throws InterruptedException {
+        // Arrange
+        auditor = new LoginAuditor(this::collect, true, 1024, 3, Duration.ofHours(1), Duration.ofSeconds(5));
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            auditor.record("user" + i + "@example.com", "id" + i, Outcome.SUCCESS, "10.0.0.1");
+        }
+
+        // Assert
+        awaitWritten(3);
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals("user0@example.com", batches.get(0).get(0).email());
+    }
+
+    @Test
+    @DisplayName("Should write a partial batch once the flush interval has passed")
+    void testFlushesByTime() throws InterruptedException {
+        // Arrange
+        auditor = new LoginAuditor(this::collect, true, 1024, 500, Duration.ofMillis(50), Duration.ofSeconds(5));
+
+        // Act
+        auditor.record("late@example.com", null, Outcome.UNKNOWN_EMAIL, "10.0.0.1");
+
+        // Assert
+        awaitWritten(1);
+        assertEquals(Outcome.UNKNOWN_EMAIL, batches.get(0).get(0).outcome());
+    }
+
+    @Test
+    @DisplayName("Should drop and count events while the queue is full")
+    void testDropsWhenFull() throws InterruptedException {
+        // Arrange
+        CountDownLatch writing = new CountDownLatch(1);
+        auditor = new LoginAuditor(events -> {
+            writing.countDown();
+            await(release);
+            collect(events);
+        }, true, 4, 1, Duration.ofMillis(10), Duration.ofSeconds(5));
+        auditor.record("first@example.com", "1", Outcome.SUCCESS, null);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            auditor.record("burst@example.com", "2", Outcome.BAD_PASSWORD, null);
+        }
+
+        // Assert
+        assertEquals(6, auditor.getDroppedQueueFullCount());
+        assertEquals(4, auditor.getQueueDepth());
+        release.countDown();
+        awaitWritten(5);
+    }
+
+    @Test
+    @DisplayName("Should drain every queued event on shutdown")
+    void testDrainsOnShutdown() throws InterruptedException {
+        // Arrange
+        auditor = new LoginAuditor(this::collect, true, 1024, 100, Duration.ofHours(1), Duration.ofSeconds(5));
+        for (int i = 0; i < 250; i++) {
+            auditor.record("user@example.com", "1", Outcome.SUCCESS, null);
+        }
+
+        // Act
+        auditor.destroy();
+
+        // Assert
+        assertEquals(250, auditor.getWrittenCount());
+        assertEquals(250, batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    @DisplayName("Should count events lost to a failed write and keep going")
+    void testCountsFailedWrites() throws InterruptedException {
+        // Arrange
+        auditor = new LoginAuditor(events -> {
+            if (batches.isEmpty() && events.get(0).email().equals("fails@example.com")) {
+                batches.add(List.of());
+                throw new IllegalStateException("database is down");
+            }
+            collect(events);
+        }, true, 1024, 1, Duration.ofMillis(10), Duration.ofSeconds(5));
+
+        // Act
+        auditor.record("fails@example.com", null, Outcome.UNKNOWN_EMAIL, null);
+        auditor.record("works@example.com", null, Outcome.UNKNOWN_EMAIL, null);
+
+        // Assert
+        awaitWritten(1);
+        assertEquals(1, auditor.getDroppedWriteFailedCount());
+    }
+
+    @Test
+    @DisplayName("Should record nothing when disabled")
+    void testDisabled() {
+        // Arrange
+        auditor = new LoginAuditor(this::collect, false, 16, 1, Duration.ofMillis(10), Duration.ofSeconds(5));
+
+        // Act
+        auditor.record("user@example.com", "1", Outcome.SUCCESS, null);
+
+        // Assert
+        assertEquals(0, auditor.getQueueDepth());
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should hand every element to the consumer exactly once under concurrent producers")
+    void testQueueConcurrentProducers() throws Exception {
+        // Arrange
+        BoundedEventQueue<Integer> queue = new BoundedEventQueue<>(1000);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        int perProducer = 20_000;
+
+        // Act
+        for (int p = 0; p < 4; p++) {
+            int base = p * perProducer;
+            producers.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> drained = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (seen.size() < 4 * perProducer && System.nanoTime() < deadline) {
+            drained.clear();
+            queue.drainTo(drained, 256);
+            for (Integer value : drained) {
+                assertTrue(seen.add(value), "duplicate " + value);
+            }
+        }
+        producers.shutdown();
+
+        // Assert
+        assertEquals(1024, queue.capacity());
+        assertEquals(4 * perProducer, seen.size());
+        assertEquals(0, queue.size());
+        assertFalse(queue.drainTo(drained, 1) > 0);
+    }
+
+    @Test
+    @DisplayName("Should wake the writer when its partial batch becomes full")
+    void testCompletesPartialBatch() throws InterruptedException {
+        // Arrange
+        auditor = new LoginAuditor(this::collect, true, 1024, 3, Duration.ofHours(1), Duration.ofSeconds(5));
+        auditor.record("user0@example.com", "id0", Outcome.SUCCESS, "10.0.0.1");
+        auditor.record("user1@example.com", "id1", Outcome.SUCCESS, "10.0.0.1");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (auditor.getQueueDepth() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // Act
+        auditor.record("user2@example.com", "id2", Outcome.SUCCESS, "10.0.0.1");
+
+        // Assert
+        awaitWritten(3);
+        assertEquals(1, batches.size());
+    }
+
+    private void collect(List<LoginAuditor.Event> events) {
+        batches.add(List.copyOf(events));
+    }
+
+    private void awaitWritten(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (auditor.getWrittenCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, auditor.getWrittenCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.miguel.backend_login_page.infra.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miguel.backend_login_page.dto.ErrorResponseDTO;
+
+@DisplayName("ErrorResponseWriter Tests")
+class ErrorResponseWriterTest {
+
+    private final ErrorResponseWriter writer = new ErrorResponseWriter();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    @DisplayName("Should write a body that reads back as ErrorResponseDTO")
+    void testWritesErrorResponse() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        writer.write(response, HttpStatus.UNAUTHORIZED, "INVALID_CREDENTIALS", "Invalid email or password");
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertEquals("application/json", response.getContentType());
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+        ErrorResponseDTO body = objectMapper.readValue(response.getContentAsByteArray(), ErrorResponseDTO.class);
+        assertEquals("Invalid email or password", body.message());
+        assertEquals("INVALID_CREDENTIALS", body.error());
+        assertEquals(401, body.status());
+        assertTrue(Duration.between(body.timestamp(), LocalDateTime.now()).abs().toSeconds() < 5);
+    }
+
+    @Test
+    @DisplayName("Should escape messages and not reuse a template for a different message")
+    void testEscapesMessages() throws Exception {
+        // Arrange
+        writer.writeBody(new ByteArrayOutputStream(), HttpStatus.NOT_FOUND, "USER_NOT_FOUND", "User not found");
+
+        // Act
+        ErrorResponseDTO quoted = read(HttpStatus.NOT_FOUND, "USER_NOT_FOUND", "No \"user\" named\nJoão");
+        ErrorResponseDTO missing = read(HttpStatus.NOT_FOUND, "USER_NOT_FOUND", null);
+        ErrorResponseDTO cached = read(HttpStatus.NOT_FOUND, "USER_NOT_FOUND", "User not found");
+
+        // Assert
+        assertEquals("No \"user\" named\nJoão", quoted.message());
+        assertNull(missing.message());
+        assertEquals("User not found", cached.message());
+    }
+
+    @Test
+    @DisplayName("Should create domain exceptions without a stack trace")
+    void testStacklessExceptions() {
+        // Arrange
+        IllegalStateException cause = new IllegalStateException("pool full");
+
+        // Act
+        DomainException notFound = new UserNotFoundException("User not found");
+        DomainException busy = new HashingCapacityExceededException("Busy", 1, cause);
+
+        // Assert
+        assertEquals(0, notFound.getStackTrace().length);
+        assertEquals(0, busy.getStackTrace().length);
+        assertTrue(cause.getStackTrace().length > 0);
+    }
+
+    private ErrorResponseDTO read(HttpStatus status, String error, String message) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeBody(out, status, error, message);
+        return objectMapper.readValue(out.toByteArray(), ErrorResponseDTO.class);
+    }
+}
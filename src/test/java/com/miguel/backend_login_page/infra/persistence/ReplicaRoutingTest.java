@@ -0,0 +1,138 @@
+package com.miguel.backend_login_page.infra.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "api.datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL + "," + ReplicaRoutingTest.DOWN_REPLICA_URL,
+        "api.datasource.replicas.connection-timeout=250ms",
+        "api.datasource.replicas.health-check-interval=1h",
+        "api.datasource.replicas.read-your-writes-window=1m"
+})
+@DisplayName("Replica routing Tests")
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    static final String DOWN_REPLICA_URL = "jdbc:h2:mem:routing-missing;IFEXISTS=TRUE";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        // Two independent H2 databases stand in for a primary and a replica that has
+        // not caught up, which makes every routing decision observable.
+        replica.execute("create table if not exists users "
+                + "(id varchar(255) primary key, email varchar(255), name varchar(255), password varchar(255), roles integer default 0 not null)");
+        replica.update("delete from users");
+        primary.update("delete from users");
+        entityManagerFactory.getCache().evictAll();
+        routing.checkHealth();
+    }
+
+    @Test
+    @DisplayName("Should serve lookups and read-only transactions from a healthy replica")
+    void testReadsGoToReplica() {
+        // Arrange
+        insert(replica, "replica@example.com", "Replica");
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Act & Assert
+        for (int i = 0; i < 4; i++) {
+            assertEquals("Replica", userRepository.findByEmail("replica@example.com").orElseThrow().getName());
+        }
+        List<User> users = readOnly.execute(status -> userRepository.findAll());
+        assertEquals(1, users.size());
+        assertEquals("replica@example.com", users.get(0).getEmail());
+    }
+
+    @Test
+    @DisplayName("Should exclude a replica that fails its health check")
+    void testUnhealthyReplicaExcluded() {
+        // Assert
+        assertEquals(1, routing.getHealthyCount());
+        assertFalse(routing.getReplicas().get(1).isHealthy());
+        assertTrue(routing.getReplicas().get(0).isHealthy());
+    }
+
+    @Test
+    @DisplayName("Should write to the primary and read a recent write back from it")
+    void testReadYourWrites() {
+        // Arrange
+        insert(replica, "fresh@example.com", "Stale");
+        User user = new User();
+        user.setEmail("fresh@example.com");
+        user.setName("Fresh");
+        user.setPassword("hashedPassword");
+
+        // Act
+        userRepository.save(user);
+        entityManagerFactory.getCache().evictAll();
+
+        // Assert
+        assertEquals(1, primary.queryForObject("select count(*) from users where email = 'fresh@example.com'", Integer.class));
+        assertEquals("Fresh", userRepository.findByEmail("fresh@example.com").orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Should retry on the primary when the replica has not seen a user yet")
+    void testReplicaMissFallsBackToPrimary() {
+        // Arrange
+        insert(primary, "elsewhere@example.com", "Registered on another node");
+
+        // Act & Assert
+        assertEquals("Registered on another node",
+                userRepository.findByEmail("elsewhere@example.com").orElseThrow().getName());
+        assertFalse(userRepository.findByEmail("nobody@example.com").isPresent());
+    }
+
+    private static void insert(JdbcTemplate database, String email, String name) {
+        database.update("insert into users (id, email, name, password) values (?, ?, ?, ?)",
+                UUID.randomUUID().toString(), email, name, "hashedPassword");
+    }
+}
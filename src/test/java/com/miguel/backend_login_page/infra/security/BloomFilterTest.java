@@ -0,0 +1,55 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report a false negative")
+    void testNoFalseNegatives() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate")
+    void testFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("stranger" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should report absent values in an empty filter")
+    void testEmptyFilter() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        assertFalse(filter.mightContain("john@example.com"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.miguel.backend_login_page.infra.security.CalibratedPasswordEncoder.Algorithm;
+
+@DisplayName("CalibratedPasswordEncoder Tests")
+class CalibratedPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Should keep verifying legacy BCrypt hashes")
+    void testMatchesLegacyBcrypt() {
+        // Arrange
+        String legacy = new BCryptPasswordEncoder().encode("password123");
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(Algorithm.BCRYPT, 4);
+
+        // Act & Assert
+        assertTrue(encoder.matches("password123", legacy));
+        assertFalse(encoder.matches("wrongPassword", legacy));
+    }
+
+    @Test
+    @DisplayName("Should request a rehash for a weaker BCrypt cost or one more than a step stronger")
+    void testUpgradeEncodingBcrypt() {
+        // Arrange
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(Algorithm.BCRYPT, 5);
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("p")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("p")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(7).encode("p")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("p")));
+    }
+
+    @Test
+    @DisplayName("Should leave PBKDF2 hashes within the tolerance band alone")
+    void testUpgradeEncodingPbkdf2Tolerance() {
+        // Arrange
+        String encoded = new CalibratedPasswordEncoder(Algorithm.PBKDF2, 1000).encode("p");
+
+        // Act & Assert
+        assertFalse(new CalibratedPasswordEncoder(Algorithm.PBKDF2, 1200).upgradeEncoding(encoded));
+        assertFalse(new CalibratedPasswordEncoder(Algorithm.PBKDF2, 500).upgradeEncoding(encoded));
+        assertTrue(new CalibratedPasswordEncoder(Algorithm.PBKDF2, 1300).upgradeEncoding(encoded));
+        assertTrue(new CalibratedPasswordEncoder(Algorithm.PBKDF2, 400).upgradeEncoding(encoded));
+    }
+
+    @Test
+    @DisplayName("Should use a configured work factor without calibrating")
+    void testConfiguredWorkFactor() {
+        // Act
+        CalibratedPasswordEncoder encoder = CalibratedPasswordEncoder.configure("pbkdf2", 400_000, Duration.ofHours(1),
+                10, 14, 310_000, 5_000_000);
+
+        // Assert
+        assertEquals(Algorithm.PBKDF2, encoder.getAlgorithm());
+        assertEquals(400_000, encoder.getWorkFactor());
+    }
+
+    @Test
+    @DisplayName("Should round-trip PBKDF2 hashes and migrate from BCrypt")
+    void testPbkdf2() {
+        // Arrange
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(Algorithm.PBKDF2, 1000);
+
+        // Act
+        String encoded = encoder.encode("password123");
+
+        // Assert
+        assertTrue(encoded.startsWith("{pbkdf2}1000$"));
+        assertTrue(encoder.matches("password123", encoded));
+        assertFalse(encoder.matches("wrongPassword", encoded));
+        assertFalse(encoder.upgradeEncoding(encoded));
+        assertTrue(new CalibratedPasswordEncoder(Algorithm.PBKDF2, 2000).upgradeEncoding(encoded));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("p")));
+    }
+
+    @Test
+    @DisplayName("Should clamp the calibrated work factor to the configured bounds")
+    void testCalibrationBounds() {
+        // Act
+        CalibratedPasswordEncoder low = CalibratedPasswordEncoder.calibrate(Algorithm.BCRYPT, Duration.ofNanos(1), 4, 6);
+        CalibratedPasswordEncoder high = CalibratedPasswordEncoder.calibrate(Algorithm.BCRYPT, Duration.ofHours(1), 4, 6);
+
+        // Assert
+        assertEquals(4, low.getWorkFactor());
+        assertEquals(6, high.getWorkFactor());
+    }
+}
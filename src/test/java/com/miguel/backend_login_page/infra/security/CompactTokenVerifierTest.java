@@ -0,0 +1,173 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+@DisplayName("CompactTokenVerifier Tests")
+class CompactTokenVerifierTest {
+
+    private static final String ISSUER = "login-athu-api";
+    private static final String SECRET = "compact-secret";
+
+    private final CompactTokenVerifier verifier = new CompactTokenVerifier(ISSUER);
+    private final CompactTokenVerifier.Key hmacKey = CompactTokenVerifier.Key.hmac(SECRET);
+
+    @Test
+    @DisplayName("Should read the same claims as the auth0 decoder")
+    void testValidHmacToken() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        String token = JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject("john@example.com")
+                .withJWTId("b4c1c1c4-9a4e-4a53-9d37-0a4c8d0e7d11")
+                .withClaim("uid", "42")
+                .withClaim("name", "João \"JD\" Doe")
+                .withClaim("roles", List.of("ROLE_USER", "ROLE_ADMIN"))
+                .withClaim("extra", Map.of("nested", List.of(1, 2, 3)))
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256(SECRET));
+
+        // Act
+        VerifiedToken verified = verify(token, hmacKey);
+
+        // Assert
+        assertNotNull(verified);
+        assertEquals("john@example.com", verified.subject());
+        assertEquals("b4c1c1c4-9a4e-4a53-9d37-0a4c8d0e7d11", verified.tokenId());
+        assertEquals(expiresAt.getEpochSecond(), verified.expiresAt().getEpochSecond());
+        assertEquals("42", verified.user().id());
+        assertEquals("João \"JD\" Doe", verified.user().name());
+        assertEquals(2, verified.user().authorities().size());
+    }
+
+    @Test
+    @DisplayName("Should verify ES256 tokens by kid and reject a mismatched algorithm")
+    void testEcdsaToken() {
+        // Arrange
+        SigningKeyRing.Key key = SigningKeyRing.inMemory(Duration.ofDays(30), Duration.ofDays(7)).snapshot().signingKey();
+        CompactTokenVerifier.Key ecKey = CompactTokenVerifier.Key.ecdsa(key.kid(), key.publicKey());
+        String token = JWT.create()
+                .withKeyId(key.kid())
+                .withIssuer(ISSUER)
+                .withSubject("john@example.com")
+                .withExpiresAt(Instant.now().plusSeconds(600))
+                .sign(Algorithm.ECDSA256(key.publicKey(), key.privateKey()));
+        String hmacWithKid = JWT.create()
+                .withKeyId(key.kid())
+                .withIssuer(ISSUER)
+                .withSubject("john@example.com")
+                .sign(Algorithm.HMAC256(SECRET));
+
+        // Act & Assert
+        assertEquals("john@example.com", verify(token, ecKey).subject());
+        assertNull(verify(token, hmacKey));
+        assertNull(verify(hmacWithKid, ecKey));
+    }
+
+    @Test
+    @DisplayName("Should reject expired, foreign, refresh and tampered tokens")
+    void testRejections() {
+        // Arrange
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        String expired = JWT.create().withIssuer(ISSUER).withSubject("a")
+                .withExpiresAt(Instant.now().minusSeconds(5)).sign(algorithm);
+        String notYetValid = JWT.create().withIssuer(ISSUER).withSubject("a")
+                .withNotBefore(Instant.now().plusSeconds(60)).sign(algorithm);
+        String otherIssuer = JWT.create().withIssuer("someone-else").withSubject("a").sign(algorithm);
+        String noIssuer = JWT.create().withSubject("a").sign(algorithm);
+        String refresh = JWT.create().withIssuer(ISSUER).withSubject("a").withClaim("token_use", "refresh").sign(algorithm);
+        String otherSecret = JWT.create().withIssuer(ISSUER).withSubject("a").sign(Algorithm.HMAC256("other"));
+        String valid = JWT.create().withIssuer(ISSUER).withSubject("a").sign(algorithm);
+        String[] parts = valid.split("\\.");
+        String swappedPayload = parts[0] + "." + base64("{\"iss\":\"" + ISSUER + "\",\"sub\":\"b\"}") + "." + parts[2];
+
+        // Act & Assert
+        assertNotNull(verify(valid, hmacKey));
+        assertNull(verify(expired, hmacKey));
+        assertNull(verify(notYetValid, hmacKey));
+        assertNull(verify(otherIssuer, hmacKey));
+        assertNull(verify(noIssuer, hmacKey));
+        assertNull(verify(refresh, hmacKey));
+        assertNull(verify(otherSecret, hmacKey));
+        assertNull(verify(swappedPayload, hmacKey));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens before looking at keys")
+    void testMalformed() {
+        // Arrange
+        String valid = JWT.create().withIssuer(ISSUER).withSubject("a").sign(Algorithm.HMAC256(SECRET));
+
+        // Act & Assert
+        assertNull(CompactTokenVerifier.load("invalid.token", 0));
+        assertNull(CompactTokenVerifier.load("a.b.c.d", 0));
+        assertNull(CompactTokenVerifier.load("..sig", 0));
+        assertNull(CompactTokenVerifier.load(valid + " ", 0));
+        assertNull(CompactTokenVerifier.load(valid.replace('.', '·'), 0));
+        assertNull(CompactTokenVerifier.load("x".repeat(CompactTokenVerifier.MAX_TOKEN_LENGTH + 1) + ".a.b", 0));
+        assertNotNull(CompactTokenVerifier.load("Bearer " + valid, 7));
+        assertNull(verify(signed("{\"alg\":\"HS256\",\"crit\":[\"exp\"]}", "{\"iss\":\"" + ISSUER + "\"}"), hmacKey));
+        assertNull(verify(signed("{\"alg\":\"HS256\"}", "{\"iss\":\"" + ISSUER + "\",}"), hmacKey));
+        assertNull(verify(signed("{\"alg\":\"HS256\"}", "{\"iss\":\"" + ISSUER + "\",\"exp\":1.5e12}"), hmacKey));
+        assertNull(verify(signed("{\"alg\":\"HS256\"}", "{\"iss\":\"" + ISSUER + "\"} trailing"), hmacKey));
+        assertNotNull(verify(signed(" { \"alg\" : \"HS256\" } ", " { \"iss\" : \"login-athu-api\" , \"sub\" : \"a\" } "), hmacKey));
+    }
+
+    @Test
+    @DisplayName("Should grow pooled buffers for tokens longer than they are")
+    void testLongToken() {
+        // Arrange
+        String shortToken = JWT.create().withIssuer(ISSUER).withSubject("a").sign(Algorithm.HMAC256(SECRET));
+        String longToken = JWT.create().withIssuer(ISSUER).withSubject("b")
+                .withClaim("padding", "x".repeat(4 * CompactTokenVerifier.INITIAL_BUFFER_LENGTH))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        // Act & Assert
+        assertEquals("a", verify(shortToken, hmacKey).subject());
+        assertEquals("b", verify(longToken, hmacKey).subject());
+        assertEquals("a", verify(shortToken, hmacKey).subject());
+    }
+
+    private VerifiedToken verify(String token, CompactTokenVerifier.Key key) {
+        try (CompactTokenVerifier.Scratch scratch = CompactTokenVerifier.load(token, 0)) {
+            assertNotNull(scratch, "token should be well-formed: " + token);
+            return verifier.verify(scratch,
+                    (buffer, offset, length) -> key.kidMatches(buffer, offset, length) ? key : null,
+                    System.currentTimeMillis());
+        }
+    }
+
+    private static String signed(String header, String payload) {
+        String input = base64(header) + "." + base64(payload);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return input + "." + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(input.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static String base64(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,129 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.repository.UserRepository;
+
+@DisplayName("KnownEmailFilter Tests")
+class KnownEmailFilterTest {
+
+    private UserRepository userRepository;
+    private KnownEmailFilter filter;
+    private KnownEmailListener listener;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        filter = new KnownEmailFilter(userRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                true, 1_000, 0.01);
+        listener = new KnownEmailListener(
+                new StaticListableBeanFactory(Map.of("knownEmailFilter", filter)).getBeanProvider(KnownEmailFilter.class));
+        testUser = new User();
+        testUser.setId("1");
+        testUser.setName("John Doe");
+        testUser.setEmail("john@example.com");
+        testUser.setPassword("hashedPassword");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should report every email as possibly present until loaded")
+    void testPermissiveUntilLoaded() {
+        // Act & Assert
+        assertFalse(filter.isLoaded());
+        assertTrue(filter.mightContain("anyone@example.com"));
+        assertEquals(0, filter.getSkippedLookups());
+    }
+
+    @Test
+    @DisplayName("Should skip lookups for emails the rebuild did not load")
+    void testRebuildLoadsEmails() {
+        // Arrange
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("john@example.com", "jane@example.com"));
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertTrue(filter.isLoaded());
+        assertTrue(filter.mightContain("john@example.com"));
+        assertTrue(filter.mightContain("jane@example.com"));
+        assertFalse(filter.mightContain("stranger@example.org"));
+        assertEquals(1, filter.getSkippedLookups());
+    }
+
+    @Test
+    @DisplayName("Should add a saved email only once the transaction commits")
+    void testAddsAfterCommit() {
+        // Arrange
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+        filter.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        listener.onUserSaved(testUser);
+        boolean knownBeforeCommit = filter.mightContain("john@example.com");
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+        // Assert
+        assertFalse(knownBeforeCommit);
+        assertTrue(filter.mightContain("john@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should not add the email when the transaction rolls back")
+    void testSkipsOnRollback() {
+        // Arrange
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+        filter.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        listener.onUserSaved(testUser);
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertFalse(filter.mightContain("john@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should add at once outside a transaction")
+    void testAddsWithoutTransaction() {
+        // Arrange
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+        filter.rebuild();
+
+        // Act
+        listener.onUserSaved(testUser);
+
+        // Assert
+        assertTrue(filter.mightContain("john@example.com"));
+    }
+}
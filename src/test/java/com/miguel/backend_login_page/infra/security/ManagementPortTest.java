@@ -0,0 +1,44 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability
+@DisplayName("ManagementPort Tests")
+class ManagementPortTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    @DisplayName("Should serve metrics without a token on the management port only")
+    void testMetricsOnManagementPort() {
+        // Act
+        HttpStatus management = status("http://localhost:" + managementPort + "/actuator/prometheus");
+        HttpStatus server = status("http://localhost:" + serverPort + "/actuator/prometheus");
+
+        // Assert
+        assertEquals(HttpStatus.OK, management);
+        assertEquals(HttpStatus.FORBIDDEN, server);
+    }
+
+    private HttpStatus status(String url) {
+        return HttpStatus.valueOf(restTemplate.getForEntity(url, String.class).getStatusCode().value());
+    }
+}
@@ -0,0 +1,93 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.miguel.backend_login_page.infra.exception.HashingCapacityExceededException;
+
+@DisplayName("PasswordHashingExecutor Tests")
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private PasswordHashingExecutor hashingExecutor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (hashingExecutor != null) {
+            hashingExecutor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should delegate hashing to the password encoder")
+    void testDelegates() {
+        // Arrange
+        hashingExecutor = new PasswordHashingExecutor(new PlainEncoder(), 2, 4, 1);
+
+        // Act & Assert
+        assertEquals("{plain}secret", hashingExecutor.encode("secret"));
+        assertTrue(hashingExecutor.matches("secret", "{plain}secret"));
+        assertEquals(2, hashingExecutor.getCompletedCount());
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the hashing queue is full")
+    void testRejectsWhenSaturated() throws Exception {
+        // Arrange
+        hashingExecutor = new PasswordHashingExecutor(new BlockingEncoder(), 1, 1, 3);
+        callers.submit(() -> hashingExecutor.encode("busy"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> hashingExecutor.encode("queued"));
+        while (hashingExecutor.getQueueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        HashingCapacityExceededException ex = assertThrows(HashingCapacityExceededException.class,
+                () -> hashingExecutor.encode("rejected"));
+
+        // Assert
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1, hashingExecutor.getRejectedCount());
+    }
+
+    private static class PlainEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    private class BlockingEncoder extends PlainEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}
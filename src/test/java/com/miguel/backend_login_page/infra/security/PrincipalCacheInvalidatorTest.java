@@ -0,0 +1,88 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.miguel.backend_login_page.domain.user.User;
+
+@DisplayName("PrincipalCacheInvalidator Tests")
+class PrincipalCacheInvalidatorTest {
+
+    private PrincipalCache principalCache;
+    private PrincipalCacheInvalidator invalidator;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(true, 100, Duration.ofMinutes(5));
+        invalidator = new PrincipalCacheInvalidator(
+                new StaticListableBeanFactory(Map.of("principalCache", principalCache)).getBeanProvider(PrincipalCache.class));
+        testUser = new User();
+        testUser.setId("1");
+        testUser.setName("John Doe");
+        testUser.setEmail("john@example.com");
+        testUser.setPassword("hashedPassword");
+        principalCache.put("john@example.com", Instant.now().plusSeconds(60), testUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should evict a changed user only once the transaction commits")
+    void testEvictsAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        invalidator.onUserChanged(testUser);
+        boolean cachedBeforeCommit = principalCache.getIfPresent("john@example.com").isPresent();
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+        // Assert
+        assertTrue(cachedBeforeCommit);
+        assertFalse(principalCache.getIfPresent("john@example.com").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should keep the cached user when the transaction rolls back")
+    void testKeepsOnRollback() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        invalidator.onUserChanged(testUser);
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertTrue(principalCache.getIfPresent("john@example.com").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should evict at once outside a transaction")
+    void testEvictsWithoutTransaction() {
+        // Act
+        invalidator.onUserCreated(testUser);
+
+        // Assert
+        assertFalse(principalCache.getIfPresent("john@example.com").isPresent());
+    }
+}
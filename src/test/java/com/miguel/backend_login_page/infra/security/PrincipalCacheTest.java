@@ -0,0 +1,99 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.miguel.backend_login_page.domain.user.User;
+
+@DisplayName("PrincipalCache Tests")
+class PrincipalCacheTest {
+
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(true, 100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+        testUser = new User();
+        testUser.setId("1");
+        testUser.setName("John Doe");
+        testUser.setEmail("john@example.com");
+        testUser.setPassword("hashedPassword");
+    }
+
+    private Optional<User> load(String email) {
+        loads.incrementAndGet();
+        return email.equals(testUser.getEmail()) ? Optional.of(testUser) : Optional.empty();
+    }
+
+    @Test
+    @DisplayName("Should load once and serve repeated lookups from cache")
+    void testCachesPrincipal() {
+        Instant exp = Instant.now().plusSeconds(60);
+
+        principalCache.get("john@example.com", exp, this::load);
+        Optional<User> second = principalCache.get("john@example.com", exp, this::load);
+
+        assertTrue(second.isPresent());
+        assertEquals(1, loads.get());
+        assertEquals(1, principalCache.stats().hitCount());
+        assertEquals(1, principalCache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown subjects")
+    void testDoesNotCacheAbsentUser() {
+        Instant exp = Instant.now().plusSeconds(60);
+
+        assertFalse(principalCache.get("ghost@example.com", exp, this::load).isPresent());
+        assertFalse(principalCache.get("ghost@example.com", exp, this::load).isPresent());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should never keep an entry past the token expiry")
+    void testEntryBoundByTokenExpiry() {
+        principalCache.get("john@example.com", Instant.now().minusSeconds(1), this::load);
+        principalCache.get("john@example.com", Instant.now().plusSeconds(60), this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should reload after invalidation by email")
+    void testInvalidation() {
+        Instant exp = Instant.now().plusSeconds(60);
+
+        principalCache.get("john@example.com", exp, this::load);
+        principalCache.invalidate("john@example.com");
+        principalCache.get("john@example.com", exp, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void testDisabled() {
+        PrincipalCache disabled = new PrincipalCache(false, 100, Duration.ofMinutes(5));
+        Instant exp = Instant.now().plusSeconds(60);
+
+        disabled.get("john@example.com", exp, this::load);
+        disabled.get("john@example.com", exp, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.size());
+    }
+}
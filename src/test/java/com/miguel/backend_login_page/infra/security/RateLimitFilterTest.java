@@ -0,0 +1,53 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/** Over a real connection, so that Tomcat's RemoteIpValve handles {@code X-Forwarded-For}. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.remoteip.internal-proxies=127\\\\.0\\\\.0\\\\.1|0:0:0:0:0:0:0:1",
+        "api.security.rate-limit.ip.capacity=2" })
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Should key the IP bucket on the client a trusted proxy forwarded")
+    void testForwardedClient() {
+        // Act & Assert
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.1", 1));
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.1", 2));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.1", 3));
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.2", 4));
+    }
+
+    @Test
+    @DisplayName("Should ignore addresses a client prepends to X-Forwarded-For")
+    void testSpoofedForwardedFor() {
+        // Act & Assert
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, login("192.0.2.1, 198.51.100.7", 5));
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, login("192.0.2.2, 198.51.100.7", 6));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, login("192.0.2.3, 198.51.100.7", 7));
+    }
+
+    private HttpStatus login(String forwardedFor, int attempt) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        String body = "{\"email\":\"rate-" + attempt + "@example.com\",\"password\":\"guess\"}";
+        return HttpStatus.valueOf(restTemplate.postForEntity("/auth/login", new HttpEntity<>(body, headers), String.class)
+                .getStatusCode().value());
+    }
+}
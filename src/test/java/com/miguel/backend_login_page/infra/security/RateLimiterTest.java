@@ -0,0 +1,96 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RateLimiter Tests")
+class RateLimiterTest {
+
+    @Test
+    @DisplayName("Should allow a full burst and then refuse with the time until the next token")
+    void testBurstThenReject() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(1_000);
+        RateLimiter limiter = new RateLimiter(5, Duration.ofSeconds(10), 100, clock::get);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertEquals(TimeUnit.SECONDS.toNanos(2), wait);
+        assertEquals(2, RateLimiter.retryAfterSeconds(wait));
+        assertEquals(1, limiter.rejectedCount());
+    }
+
+    @Test
+    @DisplayName("Should refill one token per emission interval")
+    void testRefill() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(0);
+        RateLimiter limiter = new RateLimiter(5, Duration.ofSeconds(10), 100, clock::get);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("user@example.com");
+        }
+
+        // Act
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        // Assert
+        assertEquals(0, limiter.tryAcquire("user@example.com"));
+        assertTrue(limiter.tryAcquire("user@example.com") > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key")
+    void testKeysAreIndependent() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(0);
+        RateLimiter limiter = new RateLimiter(1, Duration.ofMinutes(1), 100, clock::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    @DisplayName("Should never grant more than the capacity under contention")
+    void testConcurrentAcquire() throws Exception {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(1_000, Duration.ofHours(1), 100);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(1_000, granted.get());
+    }
+}
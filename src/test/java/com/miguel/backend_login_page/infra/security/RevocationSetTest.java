@@ -0,0 +1,78 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RevocationSet Tests")
+class RevocationSetTest {
+
+    @Test
+    @DisplayName("Should report added fingerprints and reject duplicates")
+    void testAddAndContains() {
+        // Arrange
+        RevocationSet set = new RevocationSet(Duration.ofSeconds(1), 16);
+
+        // Act & Assert
+        assertTrue(set.add(42L, 10_000));
+        assertFalse(set.add(42L, 10_000));
+        assertTrue(set.contains(42L));
+        assertFalse(set.contains(43L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    @DisplayName("Should drop entries once the wheel passes their expiry")
+    void testExpiry() {
+        // Arrange
+        RevocationSet set = new RevocationSet(Duration.ofSeconds(1), 16);
+        set.add(1L, 5_000);
+        set.add(2L, 60_000);
+        set.advance(0);
+
+        // Act
+        set.advance(5_000);
+
+        // Assert
+        assertFalse(set.contains(1L));
+        assertTrue(set.contains(2L));
+
+        // Act: 60s is several rotations of a 16-slot wheel away
+        set.advance(59_000);
+        assertTrue(set.contains(2L));
+        set.advance(61_000);
+
+        // Assert
+        assertFalse(set.contains(2L));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    @DisplayName("Should keep every surviving entry reachable through growth and removals")
+    void testGrowthAndRemoval() {
+        // Arrange
+        RevocationSet set = new RevocationSet(Duration.ofMillis(10), 64);
+        SplittableRandom random = new SplittableRandom(7);
+        long[] keys = new long[20_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            set.add(keys[i], i % 2 == 0 ? 100 : 1_000_000);
+        }
+
+        // Act
+        set.advance(0);
+        set.advance(200);
+
+        // Assert
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i % 2 != 0, set.contains(keys[i]), "key " + i);
+        }
+        assertEquals(keys.length / 2, set.size());
+    }
+}
@@ -0,0 +1,78 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "api.security.token.stateless=true")
+@DisplayName("SecurityFilter stateless mode Tests")
+class SecurityFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId("1");
+        testUser.setName("John Doe");
+        testUser.setEmail("john@example.com");
+        testUser.setPassword("hashedPassword");
+    }
+
+    @Test
+    @DisplayName("Should authenticate from token claims without touching the repository")
+    void testAuthenticatesFromClaims() throws Exception {
+        // Arrange
+        String token = tokenService.generateToken(testUser);
+
+        // Act & Assert
+        mockMvc.perform(get("/user").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should take roles from the token")
+    void testRolesFromClaims() throws Exception {
+        // Arrange
+        String userToken = tokenService.generateToken(testUser);
+        testUser.setRoles(UserRoles.ADMIN_BIT);
+        String adminToken = tokenService.generateToken(testUser);
+
+        // Act & Assert
+        mockMvc.perform(post("/admin/users/import").header("Authorization", "Bearer " + userToken)
+                .contentType("application/x-ndjson").content(""))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/admin/users/import").header("Authorization", "Bearer " + adminToken)
+                .contentType("application/x-ndjson").content(""))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,116 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.miguel.backend_login_page.domain.token.TokenSigningKey;
+import com.miguel.backend_login_page.repository.TokenSigningKeyRepository;
+
+/** Rings over the {@code token_signing_keys} table; two rings stand in for two nodes. */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("SigningKeyRing Store Tests")
+class SigningKeyRingStoreTest {
+
+    private static final String ENCRYPTION_KEY = "AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8=";
+
+    @Autowired
+    private TokenSigningKeyRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should store private keys encrypted and sign with them after a restart")
+    void testEncryptedAtRest() {
+        // Arrange
+        SigningKeyRing first = node(ENCRYPTION_KEY);
+
+        // Act
+        SigningKeyRing restarted = node(ENCRYPTION_KEY);
+
+        // Assert
+        List<TokenSigningKey> stored = repository.findAll();
+        assertEquals(2, stored.size());
+        assertTrue(stored.stream().noneMatch(key -> SigningKeyCipher.isPlaintext(key.getPrivateKey())));
+        assertEquals(first.snapshot().signingKey(), restarted.snapshot().signingKey());
+    }
+
+    @Test
+    @DisplayName("Should retire extra active keys and encrypt rows stored in plaintext")
+    void testHealsRing() throws Exception {
+        // Arrange
+        node(ENCRYPTION_KEY);
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair pair = generator.generateKeyPair();
+        Instant earlier = Instant.now().minus(Duration.ofMinutes(1));
+        // What a second node racing on the empty table would have added, from before encryption.
+        repository.save(new TokenSigningKey("raced", SigningKeyRing.ES256, pair.getPublic().getEncoded(),
+                pair.getPrivate().getEncoded(), earlier, earlier, null, null));
+
+        // Act
+        SigningKeyRing other = node(ENCRYPTION_KEY);
+
+        // Assert
+        List<TokenSigningKey> stored = repository.findAll();
+        assertEquals(1, stored.stream().filter(key -> key.getActivatedAt() != null && key.getRetiredAt() == null).count());
+        TokenSigningKey raced = stored.stream().filter(key -> key.getKid().equals("raced")).findFirst().orElseThrow();
+        assertNotNull(raced.getRetiredAt());
+        assertFalse(SigningKeyCipher.isPlaintext(raced.getPrivateKey()));
+        assertNotEquals("raced", other.snapshot().signingKey().kid());
+        assertTrue(other.snapshot().byKid().containsKey("raced"));
+    }
+
+    @Test
+    @DisplayName("Should rotate to new keys when the encryption key changes")
+    void testEncryptionKeyChanged() {
+        // Arrange
+        SigningKeyRing before = node(ENCRYPTION_KEY);
+        String oldKid = before.snapshot().signingKey().kid();
+
+        // Act
+        SigningKeyRing after = node("HyAdHBsaGRgXFhUUExIREA8ODQwLCgkIBwYFBAMCAQA=");
+
+        // Assert
+        assertNotEquals(oldKid, after.snapshot().signingKey().kid());
+        assertTrue(after.snapshot().byKid().containsKey(oldKid));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with the shipped token secret and no encryption key")
+    void testRefusesShippedSecret() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new SigningKeyRing(repository, SigningKeyRing.ES256,
+                Duration.ofDays(30), Duration.ofDays(7), Duration.ZERO, "", "PKCS12", "", Duration.ZERO, "",
+                SigningKeyRing.DEFAULT_TOKEN_SECRET));
+    }
+
+    private SigningKeyRing node(String encryptionKey) {
+        SigningKeyRing ring = new SigningKeyRing(repository, SigningKeyRing.ES256, Duration.ofDays(30), Duration.ofDays(7),
+                Duration.ZERO, "", "PKCS12", "", Duration.ZERO, encryptionKey, "");
+        ring.afterPropertiesSet();
+        return ring;
+    }
+}
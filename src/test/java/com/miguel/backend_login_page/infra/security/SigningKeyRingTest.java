@@ -0,0 +1,213 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.auth0.jwt.JWT;
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
+
+@DisplayName("SigningKeyRing Tests")
+class SigningKeyRingTest {
+
+    private static final String PASSWORD = "changeit";
+
+    /** Keys made once by keytool, which sets the certificate start dates the ring orders by. */
+    private static KeyStore keys;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void generateKeys(@TempDir Path keytoolDirectory) throws Exception {
+        Path template = keytoolDirectory.resolve("template.p12");
+        keytool(template, "old", "-2d");
+        keytool(template, "current", "-1d");
+        keytool(template, "next", "+1d");
+        keys = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(template)) {
+            keys.load(in, PASSWORD.toCharArray());
+        }
+    }
+
+    @Test
+    @DisplayName("Should start with an active key and a published next key")
+    void testInitialRing() {
+        // Act
+        SigningKeyRing.Snapshot snapshot = SigningKeyRing.inMemory(Duration.ofDays(30), Duration.ofDays(7)).snapshot();
+
+        // Assert
+        assertNotNull(snapshot.signingKey());
+        assertEquals(2, snapshot.byKid().size());
+        assertEquals(2, snapshot.jwks().size());
+        assertTrue(snapshot.byKid().containsKey(snapshot.signingKey().kid()));
+    }
+
+    @Test
+    @DisplayName("Should promote the published next key and keep the retired key for verification")
+    void testRotate() {
+        // Arrange
+        SigningKeyRing ring = SigningKeyRing.inMemory(Duration.ofDays(30), Duration.ofDays(7));
+        SigningKeyRing.Snapshot before = ring.snapshot();
+        String nextKid = before.byKid().keySet().stream()
+                .filter(kid -> !kid.equals(before.signingKey().kid()))
+                .findFirst().orElseThrow();
+
+        // Act
+        ring.rotate();
+
+        // Assert
+        SigningKeyRing.Snapshot after = ring.snapshot();
+        assertEquals(nextKid, after.signingKey().kid());
+        assertTrue(after.byKid().containsKey(before.signingKey().kid()));
+        assertEquals(3, after.byKid().size());
+        assertNotEquals(before.version(), after.version());
+    }
+
+    @Test
+    @DisplayName("Should drop retired keys once their retention has passed")
+    void testRetiredKeysExpire() {
+        // Arrange
+        SigningKeyRing ring = SigningKeyRing.inMemory(Duration.ofDays(30), Duration.ZERO);
+        String retiredKid = ring.snapshot().signingKey().kid();
+
+        // Act
+        ring.rotate();
+
+        // Assert
+        assertFalse(ring.snapshot().byKid().containsKey(retiredKid));
+        assertEquals(2, ring.snapshot().byKid().size());
+    }
+
+    @Test
+    @DisplayName("Should sign with the latest active keystore key and publish the one not yet active")
+    void testKeyStoreRing() throws Exception {
+        // Arrange
+        Path file = write(directory.resolve("keys.p12"), "old", "current", "next");
+
+        // Act
+        SigningKeyRing ring = SigningKeyRing.fromKeyStore(file, "PKCS12", PASSWORD, Duration.ZERO, Duration.ofDays(7));
+
+        // Assert
+        try {
+            assertEquals("current", ring.snapshot().signingKey().kid());
+            assertEquals(Set.of("old", "current", "next"), ring.snapshot().byKid().keySet());
+            assertEquals(3, ring.snapshot().jwks().size());
+        } finally {
+            ring.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick up a replaced keystore and keep verifying tokens of the retired key")
+    void testKeyStoreReplaced() throws Exception {
+        // Arrange
+        Path file = write(directory.resolve("keys.p12"), "old");
+        SigningKeyRing ring = SigningKeyRing.fromKeyStore(file, "PKCS12", PASSWORD, Duration.ZERO, Duration.ofDays(7));
+        TokenService service = new TokenService(AuthMetrics.noop(), ring, new UserRoles(), "unused", Duration.ofMinutes(15),
+                Duration.ofDays(7), true, false, 100, Duration.ofSeconds(60));
+        User user = new User();
+        user.setId("1");
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+        String before = service.generateToken(user);
+
+        try {
+            // Act
+            Path staged = write(directory.resolve("keys.p12.tmp"), "old", "current");
+            Files.move(staged, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (!"current".equals(ring.snapshot().signingKey().kid()) && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            // Assert
+            assertEquals("current", ring.snapshot().signingKey().kid());
+            assertEquals("current", JWT.decode(service.generateToken(user)).getKeyId());
+            assertNotNull(service.verifyToken(before));
+        } finally {
+            ring.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the current keys when the keystore becomes unreadable")
+    void testKeyStoreUnreadable() throws Exception {
+        // Arrange
+        Path file = write(directory.resolve("keys.p12"), "old", "current");
+        SigningKeyRing ring = SigningKeyRing.fromKeyStore(file, "PKCS12", PASSWORD, Duration.ZERO, Duration.ofDays(7));
+        SigningKeyRing.Snapshot before = ring.snapshot();
+
+        try {
+            // Act
+            Files.writeString(file, "not a keystore");
+            ring.maintain();
+
+            // Assert
+            assertEquals(before, ring.snapshot());
+        } finally {
+            ring.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not activate a new keystore key before the activation delay")
+    void testKeyStoreActivationDelay() throws Exception {
+        // Arrange
+        Path file = write(directory.resolve("keys.p12"), "old", "current");
+
+        // Act
+        SigningKeyRing ring = SigningKeyRing.fromKeyStore(file, "PKCS12", PASSWORD, Duration.ofDays(2), Duration.ofDays(7));
+
+        // Assert
+        try {
+            assertEquals("old", ring.snapshot().signingKey().kid());
+            assertTrue(ring.snapshot().byKid().containsKey("current"));
+        } finally {
+            ring.destroy();
+        }
+    }
+
+    private static Path write(Path file, String... aliases) throws IOException, GeneralSecurityException {
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        store.load(null, null);
+        for (String alias : aliases) {
+            store.setEntry(alias, keys.getEntry(alias, new KeyStore.PasswordProtection(PASSWORD.toCharArray())),
+                    new KeyStore.PasswordProtection(PASSWORD.toCharArray()));
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            store.store(out, PASSWORD.toCharArray());
+        }
+        return file;
+    }
+
+    private static void keytool(Path keyStore, String alias, String startDate) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-keystore", keyStore.toString(), "-storetype", "PKCS12", "-storepass", PASSWORD,
+                "-alias", alias, "-keyalg", "EC", "-groupname", "secp256r1", "-dname", "CN=" + alias,
+                "-startdate", startDate, "-validity", "30")
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes());
+        assertEquals(0, process.waitFor(), output);
+    }
+}
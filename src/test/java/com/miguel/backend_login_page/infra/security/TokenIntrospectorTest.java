@@ -0,0 +1,100 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
+import com.miguel.backend_login_page.repository.RevokedTokenRepository;
+
+@DisplayName("TokenIntrospector Tests")
+class TokenIntrospectorTest {
+
+    private TokenService tokenService;
+    private TokenRevocationStore revocations;
+    private TokenIntrospector introspector;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(AuthMetrics.noop(), "introspection-test-secret",
+                Duration.ofMinutes(15), Duration.ofDays(7), true, 10_000, Duration.ofSeconds(60));
+        revocations = new TokenRevocationStore(mock(RevokedTokenRepository.class), Duration.ofMinutes(1), 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (introspector != null) {
+            introspector.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep request order when a batch is split across threads")
+    void testParallelBatchKeepsOrder() {
+        // Arrange
+        introspector = new TokenIntrospector(tokenService, revocations, 4, 2);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tokens.add(i % 3 == 0 ? "not-a-token-" + i : tokenService.generateToken(user(i)));
+        }
+        TokenIntrospector.Result[] results = new TokenIntrospector.Result[tokens.size()];
+
+        // Act
+        introspector.introspect(tokens, results);
+
+        // Assert
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i % 3 == 0) {
+                assertSame(TokenIntrospector.Result.INACTIVE, results[i]);
+            } else {
+                assertTrue(results[i].active());
+                assertEquals("user" + i + "@example.com", results[i].subject());
+            }
+        }
+        assertEquals(666, introspector.getActiveCount());
+        assertEquals(334, introspector.getInactiveCount());
+    }
+
+    @Test
+    @DisplayName("Should report refresh, revoked and empty tokens as inactive")
+    void testInactiveTokens() {
+        // Arrange
+        introspector = new TokenIntrospector(tokenService, revocations, 1, 64);
+        User user = user(1);
+        String refresh = tokenService.generateRefreshToken(user);
+        String revoked = tokenService.generateToken(user);
+        VerifiedToken verified = tokenService.verifyToken(revoked);
+        revocations.revoke(verified.tokenId(), verified.expiresAt());
+        List<String> tokens = new ArrayList<>(List.of(refresh, revoked, ""));
+        tokens.add(null);
+        TokenIntrospector.Result[] results = new TokenIntrospector.Result[tokens.size()];
+
+        // Act
+        introspector.introspect(tokens, results);
+
+        // Assert
+        for (TokenIntrospector.Result result : results) {
+            assertFalse(result.active());
+        }
+    }
+
+    private static User user(int i) {
+        User user = new User();
+        user.setId(String.valueOf(i));
+        user.setName("User " + i);
+        user.setEmail("user" + i + "@example.com");
+        return user;
+    }
+}
@@ -0,0 +1,73 @@
+package com.miguel.backend_login_page.infra.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.miguel.backend_login_page.repository.RevokedTokenRepository;
+
+/** Two stores over one table stand in for two nodes. */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("TokenRevocationStore Tests")
+class TokenRevocationStoreTest {
+
+    @Autowired
+    private RevokedTokenRepository repository;
+
+    private TokenRevocationStore nodeA;
+    private TokenRevocationStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new TokenRevocationStore(repository, Duration.ofMinutes(1), 64);
+        nodeA.afterPropertiesSet();
+        nodeB = new TokenRevocationStore(repository, Duration.ofMinutes(1), 64);
+        nodeB.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should refuse a revocation another node already made")
+    void testRevokeOnceAcrossNodes() {
+        // Arrange
+        String tokenId = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plus(Duration.ofDays(1));
+
+        // Act & Assert
+        assertTrue(nodeA.revoke(tokenId, expiresAt));
+        assertFalse(nodeB.revoke(tokenId, expiresAt));
+        assertFalse(nodeA.revoke(tokenId, expiresAt));
+        assertTrue(nodeB.isRevoked(tokenId));
+    }
+
+    @Test
+    @DisplayName("Should see another node's revocations after a sync")
+    void testSync() {
+        // Arrange
+        String tokenId = UUID.randomUUID().toString();
+        nodeA.revoke(tokenId, Instant.now().plus(Duration.ofMinutes(15)));
+
+        // Act
+        nodeB.sync();
+
+        // Assert
+        assertTrue(nodeB.isRevoked(tokenId));
+    }
+}
@@ -1,18 +1,28 @@
 package com.miguel.backend_login_page.infra.security;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.test.context.TestPropertySource;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.metrics.AuthMetrics;
 
 @SpringBootTest
 @TestPropertySource(properties = "api.security.token.secret=test-secret-key-for-testing-purposes")
@@ -94,4 +104,158 @@ class TokenServiceTest {
             assertTrue(part.length() > 0);
         }
     }
+
+    @Test
+    @DisplayName("Should reject expired token")
+    void testValidateExpiredToken() {
+        // Arrange
+        String token = JWT.create()
+                .withIssuer("login-athu-api")
+                .withSubject("john@example.com")
+                .withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(Algorithm.HMAC256("test-secret-key-for-testing-purposes"));
+
+        TokenService hmacService = new TokenService(AuthMetrics.noop(), "test-secret-key-for-testing-purposes",
+                Duration.ofMinutes(15), Duration.ofDays(7), true, 100, Duration.ofSeconds(60));
+
+        // Act
+        String result = hmacService.valideteToken(token);
+
+        // Assert
+        assertNull(result);
+        assertNull(tokenService.valideteToken(token));
+    }
+
+    @Test
+    @DisplayName("Should answer repeated validations from the verified-token cache")
+    void testValidateTokenCached() {
+        // Arrange
+        String token = tokenService.generateToken(testUser);
+        long hitsBefore = tokenService.verifiedCacheStats().hitCount();
+
+        // Act
+        tokenService.valideteToken(token);
+        String subject = tokenService.valideteToken(token);
+
+        // Assert
+        assertEquals("john@example.com", subject);
+        assertTrue(tokenService.verifiedCacheStats().hitCount() > hitsBefore);
+    }
+
+    @Test
+    @DisplayName("Should stop accepting tokens signed with a replaced secret")
+    void testUpdateSecret() {
+        // Arrange
+        TokenService service = new TokenService(AuthMetrics.noop(), "first-secret", Duration.ofMinutes(15), Duration.ofDays(7), true, 100, Duration.ofSeconds(60));
+        String token = service.generateToken(testUser);
+        assertNotNull(service.valideteToken(token));
+
+        // Act
+        service.updateSecret("second-secret");
+
+        // Assert
+        assertNull(service.valideteToken(token));
+        assertNotNull(service.valideteToken(service.generateToken(testUser)));
+    }
+
+    @Test
+    @DisplayName("Should give each access token its own id")
+    void testAccessTokenHasId() {
+        // Act
+        VerifiedToken first = tokenService.verifyToken(tokenService.generateToken(testUser));
+        VerifiedToken second = tokenService.verifyToken(tokenService.generateToken(testUser));
+
+        // Assert
+        assertNotNull(first.tokenId());
+        assertNotEquals(first.tokenId(), second.tokenId());
+    }
+
+    @Test
+    @DisplayName("Should accept refresh tokens only as refresh tokens")
+    void testRefreshTokenNotAcceptedAsAccessToken() {
+        // Arrange
+        String refreshToken = tokenService.generateRefreshToken(testUser);
+        String accessToken = tokenService.generateToken(testUser);
+
+        // Act & Assert
+        assertNull(tokenService.verifyToken(refreshToken));
+        assertNull(tokenService.verifyRefreshToken(accessToken));
+        VerifiedToken refresh = tokenService.verifyRefreshToken(refreshToken);
+        assertEquals("john@example.com", refresh.subject());
+        assertTrue(refresh.expiresAt().isAfter(Instant.now().plus(Duration.ofDays(1))));
+    }
+
+    @Test
+    @DisplayName("Should sign with ES256 and name the key in the kid header")
+    void testEs256KidHeader() {
+        // Act
+        DecodedJWT decoded = JWT.decode(tokenService.generateToken(testUser));
+
+        // Assert
+        assertEquals("ES256", decoded.getAlgorithm());
+        assertNotNull(decoded.getKeyId());
+    }
+
+    @Test
+    @DisplayName("Should keep accepting tokens signed by a retired key after rotation")
+    void testRotationOverlap() {
+        // Arrange
+        SigningKeyRing ring = SigningKeyRing.inMemory(Duration.ofDays(30), Duration.ofDays(7));
+        TokenService service = new TokenService(AuthMetrics.noop(), ring, new UserRoles(), "unused", Duration.ofMinutes(15),
+                Duration.ofDays(7), true, false, 100, Duration.ofSeconds(60));
+        String before = service.generateToken(testUser);
+
+        // Act
+        ring.rotate();
+        String after = service.generateToken(testUser);
+
+        // Assert
+        assertNotEquals(JWT.decode(before).getKeyId(), JWT.decode(after).getKeyId());
+        assertNotNull(service.verifyToken(before));
+        assertNotNull(service.verifyToken(after));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens whose kid is not in the ring")
+    void testUnknownKid() {
+        // Arrange
+        SigningKeyRing other = SigningKeyRing.inMemory(Duration.ofDays(30), Duration.ofDays(7));
+        TokenService foreign = new TokenService(AuthMetrics.noop(), other, new UserRoles(), "unused", Duration.ofMinutes(15),
+                Duration.ofDays(7), true, false, 100, Duration.ofSeconds(60));
+
+        // Act & Assert
+        assertNull(tokenService.verifyToken(foreign.generateToken(testUser)));
+    }
+
+    @Test
+    @DisplayName("Should carry the user id, name and roles as claims")
+    void testIdentityClaims() {
+        // Act
+        VerifiedToken verified = tokenService.verifyToken(tokenService.generateToken(testUser));
+
+        // Assert
+        AuthenticatedUser user = verified.user();
+        assertNotNull(user);
+        assertEquals("1", user.id());
+        assertEquals("John Doe", user.name());
+        assertEquals("john@example.com", user.getName());
+        assertEquals("ROLE_USER", user.authorities().get(0).getAuthority());
+    }
+
+    @Test
+    @DisplayName("Should grant roles from the stored role bits, whatever the email")
+    void testRolesFromStoredBits() {
+        // Arrange
+        testUser.setEmail("admin@example.com");
+        String unprovisioned = tokenService.generateToken(testUser);
+        testUser.setRoles(UserRoles.ADMIN_BIT | UserRoles.INTROSPECT_BIT);
+
+        // Act
+        AuthenticatedUser provisioned = tokenService.verifyToken(tokenService.generateToken(testUser)).user();
+
+        // Assert
+        assertEquals(1, tokenService.verifyToken(unprovisioned).user().authorities().size());
+        assertEquals(List.of(UserRoles.USER, UserRoles.ADMIN, UserRoles.INTROSPECT),
+                provisioned.authorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
 }
@@ -0,0 +1,87 @@
+package com.miguel.backend_login_page.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.cache.CacheManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.miguel.backend_login_page.domain.user.User;
+import com.miguel.backend_login_page.infra.persistence.UserCacheConfig;
+
+@SpringBootTest
+@DisplayName("UserRepository natural-id cache Tests")
+class UserEmailLookupTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager userCacheManager;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should answer repeated email lookups from the second-level cache")
+    void testLookupIsCached() {
+        // Arrange
+        userRepository.save(user("cached@example.com", "Cached"));
+        CacheStats naturalIdsBefore = stats(UserCacheConfig.USER_NATURAL_ID_REGION);
+        CacheStats usersBefore = stats(UserCacheConfig.USER_REGION);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertTrue(userRepository.findByEmail("cached@example.com").isPresent());
+        }
+
+        // Assert
+        CacheStats naturalIds = stats(UserCacheConfig.USER_NATURAL_ID_REGION).minus(naturalIdsBefore);
+        CacheStats users = stats(UserCacheConfig.USER_REGION).minus(usersBefore);
+        assertEquals(3, naturalIds.hitCount());
+        assertEquals(0, naturalIds.missCount());
+        assertEquals(3, users.hitCount());
+    }
+
+    @Test
+    @DisplayName("Should see updates and deletes made through the repository")
+    void testWritesInvalidate() {
+        // Arrange
+        User saved = userRepository.save(user("changing@example.com", "Before"));
+        userRepository.findByEmail("changing@example.com");
+
+        // Act
+        saved.setName("After");
+        userRepository.save(saved);
+
+        // Assert
+        assertEquals("After", userRepository.findByEmail("changing@example.com").orElseThrow().getName());
+
+        // Act
+        userRepository.delete(saved);
+
+        // Assert
+        assertFalse(userRepository.findByEmail("changing@example.com").isPresent());
+    }
+
+    private CacheStats stats(String region) {
+        return UserCacheConfig.region(userCacheManager, region).stats();
+    }
+
+    private static User user(String email, String name) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName(name);
+        user.setPassword("hashedPassword");
+        return user;
+    }
+}
@@ -3,6 +3,7 @@ package com.miguel.backend_login_page.repository;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Optional;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import com.miguel.backend_login_page.domain.user.User;
 
@@ -140,4 +142,18 @@ class UserRepositoryTest {
         assertEquals("User One", foundUser1.get().getName());
         assertEquals("User Two", foundUser2.get().getName());
     }
+
+    @Test
+    @DisplayName("Should reject a second user with the same email")
+    void testDuplicateEmailRejected() {
+        // Arrange
+        userRepository.saveAndFlush(testUser);
+        User duplicate = new User();
+        duplicate.setName("Impostor");
+        duplicate.setEmail("john@example.com");
+        duplicate.setPassword("otherPassword");
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(duplicate));
+    }
 }